@@ -0,0 +1,47 @@
+package com.treatwell.roundabout.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.OrderedHealthAggregator;
+
+import com.treatwell.roundabout.utils.health.ApplicationHealthEvent;
+
+/**
+ * Creation of the {@link ApplicationHealthEvent} published for every health check, for an
+ * aggregate health of N components.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApplicationHealthEventBenchmark {
+
+    @Param({ "1", "10", "100" })
+    private int indicators;
+
+    private Health health;
+
+    @Setup
+    public void setUp() {
+        health = new OrderedHealthAggregator().aggregate(HealthAggregationBenchmark.healths(indicators));
+    }
+
+    @Benchmark
+    public ApplicationHealthEvent create() {
+        return ApplicationHealthEvent.create(health);
+    }
+}
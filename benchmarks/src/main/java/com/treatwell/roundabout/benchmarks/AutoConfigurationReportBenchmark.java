@@ -0,0 +1,93 @@
+package com.treatwell.roundabout.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionEvaluationReport;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import com.treatwell.roundabout.utils.config.AutoConfigurationReportInitializer;
+import com.treatwell.roundabout.utils.config.AutoConfigurationReportWriter;
+import com.treatwell.roundabout.utils.config.CollectingReportSink;
+import com.treatwell.roundabout.utils.config.LoggingReportSink;
+
+/**
+ * Generation of the {@link AutoConfigurationReportInitializer}'s report, through the
+ * {@link AutoConfigurationReportWriter} it uses, for a synthetic {@link ConditionEvaluationReport}
+ * of N auto-configurations with three conditions each, half of which don't match. The report is
+ * either logged (to a file, see {@code logback.xml}) or collected as the endpoint does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AutoConfigurationReportBenchmark {
+
+    @Param({ "100", "1000" })
+    private int sources;
+
+    private final AutoConfigurationReportWriter writer = new AutoConfigurationReportWriter();
+    private final LoggingReportSink loggingSink = new LoggingReportSink(
+            LoggerFactory.getLogger(AutoConfigurationReportBenchmark.class));
+    private ConditionEvaluationReport report;
+
+    @Setup
+    public void setUp() {
+        report = ConditionEvaluationReport.get(new DefaultListableBeanFactory());
+        Condition condition = new SyntheticCondition();
+        List<String> exclusions = new ArrayList<>();
+        for (int i = 0; i < sources; i++) {
+            String source = "com.example.autoconfigure.Synthetic" + i + "AutoConfiguration";
+            boolean match = i % 2 == 0;
+            report.recordConditionEvaluation(source, condition,
+                    ConditionOutcome.match("@ConditionalOnClass found required class 'com.example.Type" + i + "'"));
+            report.recordConditionEvaluation(source, condition,
+                    ConditionOutcome.match("@ConditionalOnWebApplication found 'session' scope"));
+            report.recordConditionEvaluation(source, condition, new ConditionOutcome(match,
+                    "@ConditionalOnProperty (example.feature" + i + ".enabled) "
+                            + (match ? "matched" : "did not find property 'enabled'")));
+            if (i % 50 == 0) {
+                exclusions.add("com.example.autoconfigure.Excluded" + i + "AutoConfiguration");
+            }
+        }
+        report.recordExclusions(exclusions);
+    }
+
+    @Benchmark
+    public void log() {
+        writer.write(report, loggingSink);
+    }
+
+    @Benchmark
+    public CollectingReportSink collect() {
+        CollectingReportSink sink = new CollectingReportSink();
+        writer.write(report, sink);
+        return sink;
+    }
+
+    private static class SyntheticCondition implements Condition {
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return true;
+        }
+    }
+}
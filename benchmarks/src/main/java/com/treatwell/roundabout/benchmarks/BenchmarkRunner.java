@@ -0,0 +1,82 @@
+package com.treatwell.roundabout.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler, so that allocation rates are reported alongside
+ * timings, and writes the results as JSON to {@code results/latest.json}. Any of the usual JMH
+ * command line options may be given, e.g. a benchmark name pattern, or {@code -rff} to write the
+ * results elsewhere. The JVM and hardware the results were measured on are written alongside
+ * them, to {@code <results>.env.properties}, as results are only comparable on the same ones.
+ *
+ * <p>To record a new baseline, run every benchmark on the reference machine with
+ * {@code -rff results/baseline.json}, and commit both files. Comparing a later run's
+ * {@code latest.json} against it then shows regressions in both time and allocation.</p>
+ */
+public class BenchmarkRunner {
+    private static final String DEFAULT_RESULT = "results/latest.json";
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class);
+        String result = commandLine.getResult().orElse(DEFAULT_RESULT);
+        if (!commandLine.getResult().hasValue()) {
+            new File(DEFAULT_RESULT).getParentFile().mkdirs();
+            options.result(DEFAULT_RESULT);
+        }
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        new Runner(options.build()).run();
+        writeEnvironment(Paths.get(result + ".env.properties"));
+    }
+
+    private static void writeEnvironment(Path location) throws IOException {
+        Properties environment = new Properties();
+        for (String property : new String[] { "java.vendor", "java.version", "java.vm.name", "java.vm.version",
+                "os.name", "os.version", "os.arch" }) {
+            environment.setProperty(property, System.getProperty(property, ""));
+        }
+        environment.setProperty("jvm.arguments", String.join(" ",
+                ManagementFactory.getRuntimeMXBean().getInputArguments()));
+        environment.setProperty("cpu.count", Integer.toString(Runtime.getRuntime().availableProcessors()));
+        environment.setProperty("cpu.model", cpuModel());
+        environment.setProperty("memory.max", Long.toString(Runtime.getRuntime().maxMemory()));
+        try (Writer writer = Files.newBufferedWriter(location, StandardCharsets.UTF_8)) {
+            environment.store(writer, "Environment the benchmark results were measured in");
+        }
+    }
+
+    private static String cpuModel() {
+        Path cpuInfo = Paths.get("/proc/cpuinfo");
+        if (!Files.isReadable(cpuInfo)) {
+            return "";
+        }
+        try (Stream<String> lines = Files.lines(cpuInfo)) {
+            return lines.filter(line -> line.startsWith("model name"))
+                    .map(line -> line.substring(line.indexOf(':') + 1).trim())
+                    .findFirst()
+                    .orElse("");
+        } catch (IOException e) {
+            return "";
+        }
+    }
+}
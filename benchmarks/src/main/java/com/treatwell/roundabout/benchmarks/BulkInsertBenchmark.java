@@ -0,0 +1,99 @@
+package com.treatwell.roundabout.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.treatwell.roundabout.app.SampleApplication;
+import com.treatwell.roundabout.app.domain.PhonebookEntry;
+import com.treatwell.roundabout.app.domain.PhonebookEntryRepository;
+import com.treatwell.roundabout.utils.repository.BulkOperationsJpaRepository;
+import com.treatwell.roundabout.utils.repository.BulkOperationsRepository;
+
+/**
+ * Insertion of N entities into the sample application's embedded H2 database, comparing
+ * {@code saveAll} with {@link BulkOperationsRepository#saveInBatches(Iterable)}. The table is
+ * emptied before every invocation.
+ *
+ * <p>Each is measured with the sample application's {@code hibernate.jdbc.batch_size} of 50, and
+ * with a batch size of 0 as the unbatched baseline: Hibernate then sends one statement per insert,
+ * as it would for an {@code IDENTITY} id, and {@code saveInBatches} only flushes once at the end.
+ * Comparing the two separates the gain from JDBC batching itself from that of keeping the
+ * persistence context small.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    @Param({ "1000", "10000" })
+    private int entities;
+
+    @Param({ "50", "0" })
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private PhonebookEntryRepository repository;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(SampleApplication.class)
+                .web(WebApplicationType.NONE)
+                // As an argument, to take precedence over the sample application's own properties
+                .run("--spring.jpa.properties." + BulkOperationsJpaRepository.BATCH_SIZE_PROPERTY + "=" + batchSize);
+        repository = context.getBean(PhonebookEntryRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void deleteAll() {
+        jdbcTemplate.update("DELETE FROM phonebook_entry");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object saveAll() {
+        return repository.saveAll(entries());
+    }
+
+    @Benchmark
+    public long saveInBatches() {
+        return repository.saveInBatches(entries());
+    }
+
+    private List<PhonebookEntry> entries() {
+        List<PhonebookEntry> entries = new ArrayList<>(entities);
+        for (int i = 0; i < entities; i++) {
+            PhonebookEntry entry = new PhonebookEntry(null, "Entry " + i);
+            entry.setPhoneNumber("+44 20 7946 " + i);
+            entries.add(entry);
+        }
+        return entries;
+    }
+}
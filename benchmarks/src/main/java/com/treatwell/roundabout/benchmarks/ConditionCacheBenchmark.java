@@ -0,0 +1,200 @@
+package com.treatwell.roundabout.benchmarks;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
+import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.core.io.support.SpringFactoriesLoader;
+import org.springframework.util.StringUtils;
+
+import com.treatwell.roundabout.utils.config.ClasspathFingerprint;
+import com.treatwell.roundabout.utils.config.ConditionCache;
+import com.treatwell.roundabout.utils.config.ConditionCacheImportFilter;
+
+/**
+ * Cost of filtering the auto-configuration candidates when the application starts, comparing
+ * Spring Boot's own class condition filter over every candidate, with the
+ * {@link ConditionCacheImportFilter} given an up-to-date cache followed by Boot's filter over the
+ * candidates the cache let through. The latter includes everything a start with the cache pays
+ * for: fingerprinting the classpath (through a class loader the fingerprint hasn't been cached
+ * for) and reading the index.
+ *
+ * <p>Both are measured once per fork, without warm-up, as they only ever run once per start.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class ConditionCacheBenchmark {
+    private static final String ON_CLASS_CONDITION =
+            "org.springframework.boot.autoconfigure.condition.OnClassCondition";
+
+    private String[] candidates;
+    private AutoConfigurationMetadata metadata;
+    private Path location;
+    private StandardEnvironment environment;
+    private ClassLoader classLoader;
+
+    @Setup
+    public void setUp() throws IOException {
+        ClassLoader applicationClassLoader = getClass().getClassLoader();
+        candidates = SpringFactoriesLoader.loadFactoryNames(EnableAutoConfiguration.class, applicationClassLoader)
+                .toArray(new String[0]);
+        metadata = new PropertiesAutoConfigurationMetadata(PropertiesLoaderUtils.loadAllProperties(
+                "META-INF/spring-autoconfigure-metadata.properties", applicationClassLoader));
+
+        location = Files.createTempFile("condition-cache-benchmark", ".properties");
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(ConditionCache.ENABLED_PROPERTY, "true");
+        properties.put(ConditionCache.LOCATION_PROPERTY, location.toString());
+        environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("benchmark", properties));
+
+        // Recorded as ConditionCacheRecorder would, from the candidates Boot's filter rejects
+        boolean[] matches = onClassCondition(freshClassLoader()).match(candidates, metadata);
+        Set<String> skipped = new TreeSet<>();
+        for (int i = 0; i < candidates.length; i++) {
+            if (!matches[i]) {
+                skipped.add(candidates[i]);
+            }
+        }
+        new ConditionCache(ClasspathFingerprint.of(freshClassLoader()).getValue(), skipped).store(location);
+    }
+
+    @Setup(Level.Invocation)
+    public void createClassLoader() {
+        classLoader = freshClassLoader();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(location);
+    }
+
+    @Benchmark
+    public boolean[] onClassCondition() {
+        return onClassCondition(classLoader).match(candidates, metadata);
+    }
+
+    @Benchmark
+    public boolean[] conditionCache() {
+        ConditionCacheImportFilter filter = new ConditionCacheImportFilter();
+        filter.setEnvironment(environment);
+        filter.setBeanClassLoader(classLoader);
+        boolean[] matches = filter.match(candidates, metadata);
+        List<String> remaining = new ArrayList<>();
+        for (int i = 0; i < candidates.length; i++) {
+            if (matches[i]) {
+                remaining.add(candidates[i]);
+            }
+        }
+        return onClassCondition(classLoader).match(remaining.toArray(new String[0]), metadata);
+    }
+
+    /**
+     * @return a class loader delegating to the benchmark's, for which no fingerprint has been
+     * cached yet.
+     */
+    private ClassLoader freshClassLoader() {
+        return new URLClassLoader(new URL[0], ClassLoader.getSystemClassLoader());
+    }
+
+    /**
+     * @return Spring Boot's class condition filter, which is package-private, as registered in
+     * its {@code spring.factories}.
+     */
+    private AutoConfigurationImportFilter onClassCondition(ClassLoader loader) {
+        for (AutoConfigurationImportFilter filter : SpringFactoriesLoader.loadFactories(
+                AutoConfigurationImportFilter.class, getClass().getClassLoader())) {
+            if (ON_CLASS_CONDITION.equals(filter.getClass().getName())) {
+                ((BeanClassLoaderAware) filter).setBeanClassLoader(loader);
+                if (filter instanceof EnvironmentAware) {
+                    ((EnvironmentAware) filter).setEnvironment(environment);
+                }
+                return filter;
+            }
+        }
+        throw new IllegalStateException(ON_CLASS_CONDITION + " isn't registered");
+    }
+
+    /**
+     * {@link AutoConfigurationMetadata} read from the same properties as Spring Boot's own, whose
+     * loader is package-private.
+     */
+    private static final class PropertiesAutoConfigurationMetadata implements AutoConfigurationMetadata {
+        private final Properties properties;
+
+        private PropertiesAutoConfigurationMetadata(Properties properties) {
+            this.properties = properties;
+        }
+
+        @Override
+        public boolean wasProcessed(String className) {
+            return properties.containsKey(className);
+        }
+
+        @Override
+        public Integer getInteger(String className, String key) {
+            return getInteger(className, key, null);
+        }
+
+        @Override
+        public Integer getInteger(String className, String key, Integer defaultValue) {
+            String value = get(className, key);
+            return value != null ? Integer.valueOf(value) : defaultValue;
+        }
+
+        @Override
+        public Set<String> getSet(String className, String key) {
+            return getSet(className, key, null);
+        }
+
+        @Override
+        public Set<String> getSet(String className, String key, Set<String> defaultValue) {
+            String value = get(className, key);
+            return value != null ? StringUtils.commaDelimitedListToSet(value) : defaultValue;
+        }
+
+        @Override
+        public String get(String className, String key) {
+            return get(className, key, null);
+        }
+
+        @Override
+        public String get(String className, String key, String defaultValue) {
+            return properties.getProperty(className + "." + key, defaultValue);
+        }
+    }
+}
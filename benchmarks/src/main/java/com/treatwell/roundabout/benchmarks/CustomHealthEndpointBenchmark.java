@@ -0,0 +1,71 @@
+package com.treatwell.roundabout.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.OrderedHealthAggregator;
+import org.springframework.http.ResponseEntity;
+
+import com.treatwell.roundabout.utils.health.CustomHealthEndpoint;
+
+/**
+ * Rendering of {@link CustomHealthEndpoint} responses, in both formats and as a 304, either for
+ * an unchanged health (served from the cached rendering) or for a health which changes on every
+ * call (re-rendered every time). The endpoint is called directly, without any HTTP handling.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomHealthEndpointBenchmark {
+
+    @Param({ "10", "100" })
+    private int indicators;
+
+    @Param({ "false", "true" })
+    private boolean changing;
+
+    private CustomHealthEndpoint endpoint;
+    private String etag;
+    private long count;
+
+    @Setup
+    public void setUp() {
+        Map<String, Health> healths = HealthAggregationBenchmark.healths(indicators);
+        Health health = new OrderedHealthAggregator().aggregate(healths);
+        endpoint = new CustomHealthEndpoint(new HealthEndpoint(() -> changing
+                ? Health.status(health.getStatus()).withDetails(healths).withDetail("check", count++).build()
+                : health));
+        etag = endpoint.health(null, null).getHeaders().getETag();
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> full() {
+        return endpoint.health(null, null);
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> compact() {
+        return endpoint.health("compact", null);
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> notModified() {
+        return endpoint.health(null, etag);
+    }
+}
@@ -0,0 +1,94 @@
+package com.treatwell.roundabout.benchmarks;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthAggregator;
+import org.springframework.boot.actuate.health.OrderedHealthAggregator;
+import org.springframework.boot.actuate.health.Status;
+
+import com.treatwell.roundabout.utils.health.BroadcastingHealthAggregator;
+import com.treatwell.roundabout.utils.health.IncrementalHealthAggregator;
+
+/**
+ * Aggregation of N indicators' results by the {@link BroadcastingHealthAggregator}, including
+ * publishing the resulting events, either synchronously or through its asynchronous dispatcher.
+ * One in ten indicators is DOWN, so the aggregate status is DOWN for 10 or more.
+ *
+ * <p>The underlying aggregator is either the library's {@link IncrementalHealthAggregator}, as
+ * configured by default, or Spring Boot's {@link OrderedHealthAggregator} for comparison. When
+ * {@code changing}, alternate invocations pass results differing in one indicator, so that the
+ * incremental aggregator can't return its previous aggregate.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HealthAggregationBenchmark {
+
+    @Param({ "1", "10", "100" })
+    private int indicators;
+
+    @Param({ "false", "true" })
+    private boolean asynchronous;
+
+    @Param({ "incremental", "ordered" })
+    private String underlying;
+
+    @Param({ "false", "true" })
+    private boolean changing;
+
+    private BroadcastingHealthAggregator aggregator;
+    private Map<String, Health> healths;
+    private Map<String, Health> changedHealths;
+    private boolean flip;
+    private volatile Object lastEvent;
+
+    @Setup
+    public void setUp() {
+        HealthAggregator delegate = "incremental".equals(underlying)
+                ? new IncrementalHealthAggregator() : new OrderedHealthAggregator();
+        aggregator = new BroadcastingHealthAggregator(delegate, asynchronous);
+        aggregator.setApplicationEventPublisher(event -> lastEvent = event);
+        healths = healths(indicators);
+        changedHealths = new LinkedHashMap<>(healths);
+        changedHealths.put("indicator0", Health.outOfService().build());
+    }
+
+    @TearDown
+    public void tearDown() {
+        aggregator.destroy();
+    }
+
+    @Benchmark
+    public Health aggregate() {
+        flip = changing && !flip;
+        return aggregator.aggregate(flip ? changedHealths : healths);
+    }
+
+    static Map<String, Health> healths(int count) {
+        Map<String, Health> healths = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            healths.put("indicator" + i, Health.status(i % 10 == 9 ? Status.DOWN : Status.UP)
+                    .withDetail("index", i)
+                    .build());
+        }
+        return healths;
+    }
+}
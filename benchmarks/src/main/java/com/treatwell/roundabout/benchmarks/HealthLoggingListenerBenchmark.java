@@ -0,0 +1,77 @@
+package com.treatwell.roundabout.benchmarks;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.OrderedHealthAggregator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.context.PayloadApplicationEvent;
+
+import com.treatwell.roundabout.utils.health.HealthLoggingListener;
+import com.treatwell.roundabout.utils.health.HealthTransitionEvent;
+import com.treatwell.roundabout.utils.health.HealthTransitionEvent.ComponentTransition;
+
+/**
+ * The {@link HealthLoggingListener} under status churn: either the aggregate status flaps
+ * between UP and DOWN on every event (logging the failed components at WARN), or it stays UP
+ * while a single component changes (logging the changes at INFO).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HealthLoggingListenerBenchmark {
+
+    @Param({ "10", "100" })
+    private int indicators;
+
+    @Param({ "flapping", "components" })
+    private String churn;
+
+    private final HealthLoggingListener listener = new HealthLoggingListener();
+    private PayloadApplicationEvent<HealthTransitionEvent> down;
+    private PayloadApplicationEvent<HealthTransitionEvent> up;
+    private long count;
+
+    @Setup
+    public void setUp() {
+        Map<String, Health> healths = HealthAggregationBenchmark.healths(indicators);
+        Health unhealthy = new OrderedHealthAggregator().aggregate(healths);
+        healths.replaceAll((name, health) -> Health.up().build());
+        Health healthy = new OrderedHealthAggregator().aggregate(healths);
+
+        Map<String, ComponentTransition> changed = Collections.singletonMap("indicator9",
+                new ComponentTransition(Status.UP, Status.DOWN));
+        if ("flapping".equals(churn)) {
+            down = event(new HealthTransitionEvent(Status.UP, unhealthy, changed));
+            up = event(new HealthTransitionEvent(Status.DOWN, healthy, changed));
+        } else {
+            down = event(new HealthTransitionEvent(Status.UP, healthy, changed));
+            up = down;
+        }
+    }
+
+    @Benchmark
+    public void onApplicationEvent() {
+        listener.onApplicationEvent((count++ & 1) == 0 ? down : up);
+    }
+
+    private PayloadApplicationEvent<HealthTransitionEvent> event(HealthTransitionEvent transition) {
+        return new PayloadApplicationEvent<>(this, transition);
+    }
+}
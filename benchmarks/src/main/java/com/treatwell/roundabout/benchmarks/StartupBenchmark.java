@@ -0,0 +1,102 @@
+package com.treatwell.roundabout.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.treatwell.roundabout.utils.config.AutoConfigurationReportInitializer;
+import com.treatwell.roundabout.utils.config.SpringEventLogger;
+import com.treatwell.roundabout.utils.health.CustomHealthEndpoint;
+
+/**
+ * Cost of the library's default-on components ({@link CustomHealthEndpoint},
+ * {@link SpringEventLogger} and {@link AutoConfigurationReportInitializer}), comparing a minimal
+ * web application with them present and with them turned off through their properties: both the
+ * time to start the application, and the cost of dispatching an event once it's running.
+ */
+public class StartupBenchmark {
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    @Fork(3)
+    public void startup(Components components) {
+        components.start().close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 5, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    public void publishEvent(RunningApplication application) {
+        application.context.publishEvent(new BenchmarkEvent(application));
+    }
+
+    @State(Scope.Benchmark)
+    public static class Components {
+
+        @Param({ "true", "false" })
+        private boolean enabled;
+
+        ConfigurableApplicationContext start() {
+            return new SpringApplicationBuilder(BenchmarkApplication.class)
+                    .web(WebApplicationType.SERVLET)
+                    .properties("server.port=0",
+                            "boot.event-logger.enabled=" + enabled,
+                            "boot.auto-configuration-report.enabled=" + enabled,
+                            "roundabout.health.custom-endpoint.enabled=" + enabled)
+                    .run();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class RunningApplication {
+        private ConfigurableApplicationContext context;
+
+        @Setup
+        public void setUp(Components components) {
+            context = components.start();
+        }
+
+        @TearDown
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration(exclude = { DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class })
+    static class BenchmarkApplication {
+    }
+
+    static class BenchmarkEvent extends ApplicationEvent {
+        private static final long serialVersionUID = 1L;
+
+        BenchmarkEvent(Object source) {
+            super(source);
+        }
+    }
+}
@@ -2,8 +2,12 @@ package com.treatwell.roundabout.app;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import com.treatwell.roundabout.utils.repository.BulkOperationsJpaRepository;
 
 @SpringBootApplication
+@EnableJpaRepositories(repositoryBaseClass = BulkOperationsJpaRepository.class)
 public class SampleApplication {
     public static void main(String[] args) {
         SpringApplication.run(SampleApplication.class, args);
@@ -4,9 +4,13 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.treatwell.roundabout.utils.health.Sheddable;
+
 @RestController
 public class SampleController {
 
+    // Non-critical, so rejected while the application is unhealthy when load shedding is enabled
+    @Sheddable
     @GetMapping("/endpoint")
     public String endpoint(@RequestParam("name") String name) {
         return "Hello " + name;
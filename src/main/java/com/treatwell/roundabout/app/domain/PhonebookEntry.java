@@ -2,12 +2,18 @@ package com.treatwell.roundabout.app.domain;
 
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
 
 @Entity
 public class PhonebookEntry {
 
-    @Id @GeneratedValue
+    // A pooled sequence lets Hibernate assign ids without a round-trip per insert, so that
+    // inserts can be batched (which IDENTITY, and AUTO on some databases, prevent)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "phonebook_entry_seq")
+    @SequenceGenerator(name = "phonebook_entry_seq", sequenceName = "phonebook_entry_seq", allocationSize = 50)
     private Long id;
     private String name;
     private String phoneNumber;
@@ -21,6 +27,10 @@ public class PhonebookEntry {
         this.name = name;
     }
 
+    public Long getId() {
+        return id;
+    }
+
     public String getName() {
         return name;
     }
@@ -1,15 +1,19 @@
 package com.treatwell.roundabout.app.domain;
 
-import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.treatwell.roundabout.utils.repository.BulkOperationsRepository;
+import com.treatwell.roundabout.utils.repository.CachedRepository;
+
 /**
  * Sample repository for the {@link PhonebookEntry}. Commenting out the
  * {@link Transactional} annotation will cause an exception on startup, as the
  * configuration validator requires that all our {@link Repository} instances
- * have such annotations.
+ * have such annotations. Lookups by id are cached, as phone number lookups are
+ * read-heavy.
  */
+@CachedRepository
 @Transactional("transactionManager")
-public interface PhonebookEntryRepository extends CrudRepository<PhonebookEntry, Long> {
+public interface PhonebookEntryRepository extends BulkOperationsRepository<PhonebookEntry, Long> {
 }
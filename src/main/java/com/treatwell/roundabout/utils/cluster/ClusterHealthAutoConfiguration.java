@@ -0,0 +1,81 @@
+package com.treatwell.roundabout.utils.cluster;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnEnabledEndpoint;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+/**
+ * Shares this node's health transitions with the rest of the cluster through a
+ * {@link ClusterHealthBridge}, keeping a merged {@link ClusterHealthView} of every node's health
+ * which other components can use (e.g. to decide whether shedding load would overload the
+ * remaining nodes), and which is exposed through an actuator endpoint.
+ *
+ * <p>The transport is chosen with {@code roundabout.health.cluster.transport}: {@code loopback}
+ * (the default) only reaches other application contexts within the same JVM, whereas
+ * {@code multicast} reaches every node on the local network. Any other {@link ClusterTransport}
+ * can be used by declaring it as a bean. Messages are signed with
+ * {@code roundabout.health.cluster.secret}, which the multicast transport requires.</p>
+ *
+ * <p>This is opt-in, and enabled by setting
+ * <pre>
+ * <code>
+ * roundabout.health.cluster.enabled=true
+ * </code>
+ * </pre>
+ * </p>
+ */
+@Configuration
+@ConditionalOnClass(HealthIndicator.class)
+@ConditionalOnProperty(prefix = "roundabout.health.cluster", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ClusterHealthProperties.class)
+public class ClusterHealthAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ClusterTransport clusterTransport(ClusterHealthProperties properties) throws UnknownHostException {
+        if (properties.getTransport() == ClusterHealthProperties.Transport.MULTICAST) {
+            if (!StringUtils.hasLength(properties.getSecret())) {
+                throw new IllegalStateException(
+                        "roundabout.health.cluster.secret must be set when using the multicast transport");
+            }
+            return new MulticastClusterTransport(InetAddress.getByName(properties.getMulticastGroup()),
+                    properties.getMulticastPort(), properties.getMulticastTimeToLive());
+        }
+        return new LoopbackClusterTransport(properties.getChannel());
+    }
+
+    @Bean
+    public ClusterHealthView clusterHealthView(ClusterHealthProperties properties) {
+        return new ClusterHealthView(properties.getStaleAfter().toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Bean
+    public ClusterHealthBridge clusterHealthBridge(ClusterHealthProperties properties, ClusterTransport transport,
+            ClusterHealthView view, ObjectProvider<HealthEndpoint> healthEndpoint) {
+        String nodeId = StringUtils.hasText(properties.getNodeId()) ? properties.getNodeId()
+                : ManagementFactory.getRuntimeMXBean().getName();
+        HealthEndpoint endpoint = healthEndpoint.getIfAvailable();
+        return new ClusterHealthBridge(nodeId, transport, new NodeHealthCodec(properties.getSecret()), view,
+                endpoint != null ? endpoint::health : null, properties.getFlushInterval(),
+                properties.getHeartbeatInterval(), properties.getMaxClockSkew());
+    }
+
+    @Bean
+    @ConditionalOnEnabledEndpoint
+    public ClusterHealthEndpoint clusterHealthEndpoint(ClusterHealthBridge bridge, ClusterHealthView view) {
+        return new ClusterHealthEndpoint(bridge, view);
+    }
+}
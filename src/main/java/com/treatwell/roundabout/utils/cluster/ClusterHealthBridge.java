@@ -0,0 +1,215 @@
+package com.treatwell.roundabout.utils.cluster;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.treatwell.roundabout.utils.health.HealthTransitionEvent;
+
+/**
+ * Shares this node's health with the rest of the cluster over a {@link ClusterTransport}, and
+ * merges the health received from the other nodes into a {@link ClusterHealthView}.
+ *
+ * <p>Every {@link HealthTransitionEvent} updates the local state, which is sent on the next
+ * flush, so that any number of transitions within a flush interval cost a single message. The
+ * state is also re-sent as a heartbeat when nothing has changed for a while, which is what keeps
+ * this node from being seen as stale by the others. As transitions are only seen when health is
+ * checked, the local state is seeded by a health check on start, so that heartbeats flow even
+ * if nothing ever checks this node's health. Each message is numbered, so that receivers can
+ * discard those arriving out of order.</p>
+ *
+ * <p>States received with an incarnation further in the future than the tolerated clock skew
+ * are ignored, as they would otherwise supersede every genuine state from that node until the
+ * receiver's clock caught up with them.</p>
+ */
+public class ClusterHealthBridge implements ApplicationListener<PayloadApplicationEvent<HealthTransitionEvent>>,
+        SmartLifecycle {
+    private static final Logger LOG = LoggerFactory.getLogger(ClusterHealthBridge.class);
+
+    private final String nodeId;
+    private final long incarnation = System.currentTimeMillis();
+    private final ClusterTransport transport;
+    private final NodeHealthCodec codec;
+    private final ClusterHealthView view;
+    private final HealthIndicator healthIndicator;
+    private final Duration flushInterval;
+    private final long heartbeatIntervalNanos;
+    private final long maxClockSkewMillis;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private volatile LocalState state;
+    private volatile boolean changed;
+    private long lastSent;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param healthIndicator checked on start to seed the local state, or {@code null} to wait for
+     * the first {@link HealthTransitionEvent}.
+     */
+    public ClusterHealthBridge(String nodeId, ClusterTransport transport, NodeHealthCodec codec,
+            ClusterHealthView view, HealthIndicator healthIndicator, Duration flushInterval,
+            Duration heartbeatInterval, Duration maxClockSkew) {
+        this.nodeId = nodeId;
+        this.transport = transport;
+        this.codec = codec;
+        this.view = view;
+        this.healthIndicator = healthIndicator;
+        this.flushInterval = flushInterval;
+        this.heartbeatIntervalNanos = heartbeatInterval.toNanos();
+        this.maxClockSkewMillis = maxClockSkew.toMillis();
+    }
+
+    @Override
+    public void onApplicationEvent(PayloadApplicationEvent<HealthTransitionEvent> event) {
+        update(event.getPayload().getHealth());
+    }
+
+    private void update(Health health) {
+        Map<String, String> components = new LinkedHashMap<>();
+        health.getDetails().forEach((name, detail) -> {
+            if (detail instanceof Health) {
+                components.put(name, ((Health) detail).getStatus().getCode());
+            }
+        });
+        state = new LocalState(health.getStatus().getCode(), components);
+        changed = true;
+    }
+
+    /**
+     * Sends the local state if it has changed, or if a heartbeat is due.
+     */
+    void flush() {
+        long now = System.nanoTime();
+        if (!changed && now - lastSent < heartbeatIntervalNanos) {
+            return;
+        }
+        // Cleared before reading the state, so that a concurrent change is sent on the next flush
+        changed = false;
+        LocalState current = state;
+        if (current == null) {
+            return;
+        }
+        lastSent = now;
+        NodeHealth health = new NodeHealth(nodeId, incarnation, sequence.incrementAndGet(),
+                System.currentTimeMillis(), current.status, current.components);
+        view.update(health);
+        try {
+            transport.send(codec.encode(Collections.singletonList(health)));
+        } catch (IOException | RuntimeException e) {
+            // Never let the scheduled task die; the next heartbeat will try again
+            LOG.warn("Failed to send cluster health", e);
+        }
+    }
+
+    void receive(byte[] message) {
+        try {
+            List<NodeHealth> nodes = codec.decode(message, 0, message.length);
+            long latestIncarnation = System.currentTimeMillis() + maxClockSkewMillis;
+            for (NodeHealth node : nodes) {
+                if (node.getIncarnation() > latestIncarnation) {
+                    LOG.debug("Ignoring cluster health from {}, whose incarnation is in the future", node.getNodeId());
+                } else if (!nodeId.equals(node.getNodeId())) {
+                    view.update(node);
+                }
+            }
+        } catch (IOException e) {
+            LOG.debug("Ignoring malformed cluster health message", e);
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler == null) {
+            try {
+                transport.start(this::receive);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to start cluster health transport", e);
+            }
+            seed();
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("cluster-health-");
+            threadFactory.setDaemon(true);
+            scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+            long interval = flushInterval.toMillis();
+            scheduler.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void seed() {
+        if (healthIndicator == null || state != null) {
+            return;
+        }
+        try {
+            Health health = healthIndicator.health();
+            // A transition may have been seen while checking, which is at least as recent
+            if (state == null) {
+                update(health);
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to check health for the cluster; waiting for the first transition", e);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+            transport.stop();
+        }
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        stop();
+        callback.run();
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return true;
+    }
+
+    /**
+     * Started after the {@link com.treatwell.roundabout.utils.health.HealthSnapshotCache}, so
+     * that the seeding health check reads an actual snapshot.
+     */
+    @Override
+    public int getPhase() {
+        return 1;
+    }
+
+    private static final class LocalState {
+        private final String status;
+        private final Map<String, String> components;
+
+        private LocalState(String status, Map<String, String> components) {
+            this.status = status;
+            this.components = components;
+        }
+    }
+}
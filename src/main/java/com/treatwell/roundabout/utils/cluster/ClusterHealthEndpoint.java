@@ -0,0 +1,43 @@
+package com.treatwell.roundabout.utils.cluster;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Actuator endpoint exposing the {@link ClusterHealthView}, at {@code /actuator/clusterhealth}
+ * once included in {@code management.endpoints.web.exposure.include}.
+ */
+@Endpoint(id = "clusterhealth")
+public class ClusterHealthEndpoint {
+
+    private final ClusterHealthBridge bridge;
+    private final ClusterHealthView view;
+
+    public ClusterHealthEndpoint(ClusterHealthBridge bridge, ClusterHealthView view) {
+        this.bridge = bridge;
+        this.view = view;
+    }
+
+    @ReadOperation
+    public Map<String, Object> cluster() {
+        Map<String, Object> nodes = new TreeMap<>();
+        view.getNodes().forEach((nodeId, node) -> {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("status", node.getHealth().getStatus());
+            details.put("components", node.getHealth().getComponents());
+            details.put("ageMs", node.getAge(TimeUnit.MILLISECONDS));
+            details.put("stale", node.isStale());
+            nodes.put(nodeId, details);
+        });
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("self", bridge.getNodeId());
+        result.put("healthyFraction", view.getHealthyFraction());
+        result.put("nodes", nodes);
+        return result;
+    }
+}
@@ -0,0 +1,177 @@
+package com.treatwell.roundabout.utils.cluster;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for the {@link ClusterHealthBridge}, bound from the
+ * {@code roundabout.health.cluster} prefix.
+ */
+@ConfigurationProperties("roundabout.health.cluster")
+public class ClusterHealthProperties {
+
+    /**
+     * Whether this node's health is shared with, and merged with that of, the rest of the cluster.
+     */
+    private boolean enabled = false;
+
+    /**
+     * This node's id within the cluster; defaults to the JVM's name, i.e. {@code pid@hostname},
+     * so must be set when running several nodes within a JVM, as with the loopback transport.
+     */
+    private String nodeId;
+
+    /**
+     * Secret shared by the nodes of the cluster, with which every message is signed and verified.
+     * Required with the multicast transport, so that nothing else on the network can pass itself
+     * off as a node.
+     */
+    private String secret;
+
+    /**
+     * How health is carried between nodes.
+     */
+    private Transport transport = Transport.LOOPBACK;
+
+    /**
+     * Channel name shared by the nodes of a cluster, when using the loopback transport.
+     */
+    private String channel = "default";
+
+    /**
+     * Multicast group address, when using the multicast transport.
+     */
+    private String multicastGroup = "239.255.42.99";
+
+    /**
+     * Multicast port, when using the multicast transport.
+     */
+    private int multicastPort = 4446;
+
+    /**
+     * Multicast time-to-live, i.e. how many network hops datagrams may cross.
+     */
+    private int multicastTimeToLive = 1;
+
+    /**
+     * How often pending changes to this node's health are sent, as a single message.
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /**
+     * How often this node's health is re-sent when it hasn't changed.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(10);
+
+    /**
+     * How long after the last message received from a node it's considered stale.
+     */
+    private Duration staleAfter = Duration.ofSeconds(30);
+
+    /**
+     * How far ahead of this node's clock another node's clock may be; states from nodes which
+     * claim to have started further in the future are ignored.
+     */
+    private Duration maxClockSkew = Duration.ofMinutes(1);
+
+    public enum Transport {
+        LOOPBACK, MULTICAST
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public String getSecret() {
+        return secret;
+    }
+
+    public void setSecret(String secret) {
+        this.secret = secret;
+    }
+
+    public Transport getTransport() {
+        return transport;
+    }
+
+    public void setTransport(Transport transport) {
+        this.transport = transport;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public void setChannel(String channel) {
+        this.channel = channel;
+    }
+
+    public String getMulticastGroup() {
+        return multicastGroup;
+    }
+
+    public void setMulticastGroup(String multicastGroup) {
+        this.multicastGroup = multicastGroup;
+    }
+
+    public int getMulticastPort() {
+        return multicastPort;
+    }
+
+    public void setMulticastPort(int multicastPort) {
+        this.multicastPort = multicastPort;
+    }
+
+    public int getMulticastTimeToLive() {
+        return multicastTimeToLive;
+    }
+
+    public void setMulticastTimeToLive(int multicastTimeToLive) {
+        this.multicastTimeToLive = multicastTimeToLive;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(Duration heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    public Duration getStaleAfter() {
+        return staleAfter;
+    }
+
+    public void setStaleAfter(Duration staleAfter) {
+        this.staleAfter = staleAfter;
+    }
+
+    public Duration getMaxClockSkew() {
+        return maxClockSkew;
+    }
+
+    public void setMaxClockSkew(Duration maxClockSkew) {
+        this.maxClockSkew = maxClockSkew;
+    }
+}
@@ -0,0 +1,107 @@
+package com.treatwell.roundabout.utils.cluster;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.actuate.health.Status;
+
+/**
+ * Merged view of the health of every node in the cluster, including this one. Each node's
+ * latest state is kept along with when it was received, by the local clock, so that nodes which
+ * have stopped sending (having crashed, or lost connectivity) are seen as stale rather than
+ * being trusted indefinitely.
+ *
+ * <p>States arriving out of order, or duplicated, are ignored. Stale nodes are forgotten
+ * altogether once they have been stale for as long again.</p>
+ */
+public class ClusterHealthView {
+    private final long staleAfterNanos;
+    private final ConcurrentMap<String, Entry> nodes = new ConcurrentHashMap<>();
+
+    public ClusterHealthView(long staleAfter, TimeUnit unit) {
+        this.staleAfterNanos = unit.toNanos(staleAfter);
+    }
+
+    /**
+     * Merges a node's state into the view, unless an equal or newer state is already known.
+     */
+    public void update(NodeHealth health) {
+        Entry entry = new Entry(health, System.nanoTime());
+        nodes.merge(health.getNodeId(), entry,
+                (existing, updated) -> updated.health.isNewerThan(existing.health) ? updated : existing);
+    }
+
+    /**
+     * @return every known node, by id, with how long ago its latest state was received.
+     */
+    public Map<String, NodeView> getNodes() {
+        long now = System.nanoTime();
+        Map<String, NodeView> views = new TreeMap<>();
+        nodes.forEach((nodeId, entry) -> {
+            long age = now - entry.receivedAt;
+            if (age > 2 * staleAfterNanos) {
+                nodes.remove(nodeId, entry);
+            } else {
+                views.put(nodeId, new NodeView(entry.health, age, age > staleAfterNanos));
+            }
+        });
+        return views;
+    }
+
+    /**
+     * @return the proportion of known, non-stale nodes which are UP, or 0 if there are none.
+     */
+    public double getHealthyFraction() {
+        int fresh = 0;
+        int healthy = 0;
+        for (NodeView node : getNodes().values()) {
+            if (!node.isStale()) {
+                fresh++;
+                if (Status.UP.getCode().equals(node.getHealth().getStatus())) {
+                    healthy++;
+                }
+            }
+        }
+        return fresh == 0 ? 0 : (double) healthy / fresh;
+    }
+
+    /**
+     * A node's latest known state.
+     */
+    public static final class NodeView {
+        private final NodeHealth health;
+        private final long ageNanos;
+        private final boolean stale;
+
+        private NodeView(NodeHealth health, long ageNanos, boolean stale) {
+            this.health = health;
+            this.ageNanos = ageNanos;
+            this.stale = stale;
+        }
+
+        public NodeHealth getHealth() {
+            return health;
+        }
+
+        public long getAge(TimeUnit unit) {
+            return unit.convert(ageNanos, TimeUnit.NANOSECONDS);
+        }
+
+        public boolean isStale() {
+            return stale;
+        }
+    }
+
+    private static final class Entry {
+        private final NodeHealth health;
+        private final long receivedAt;
+
+        private Entry(NodeHealth health, long receivedAt) {
+            this.health = health;
+            this.receivedAt = receivedAt;
+        }
+    }
+}
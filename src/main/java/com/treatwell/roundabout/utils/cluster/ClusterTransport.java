@@ -0,0 +1,25 @@
+package com.treatwell.roundabout.utils.cluster;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Carries encoded cluster health messages between nodes. Delivery is best-effort: messages may
+ * be lost, duplicated or reordered, as the {@link ClusterHealthView} copes with all three.
+ */
+public interface ClusterTransport {
+
+    /**
+     * Starts receiving messages, passing each one to the given receiver, which may be called
+     * from a transport thread.
+     */
+    void start(Consumer<byte[]> receiver) throws IOException;
+
+    /**
+     * Sends a message to every other node. Messages sent before {@link #start(Consumer)} may be
+     * dropped.
+     */
+    void send(byte[] message) throws IOException;
+
+    void stop();
+}
@@ -0,0 +1,51 @@
+package com.treatwell.roundabout.utils.cluster;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process {@link ClusterTransport}, delivering messages synchronously to every other
+ * transport on the same channel within the JVM. This stands in for a network when several
+ * application contexts are run side by side, e.g. in tests.
+ */
+public class LoopbackClusterTransport implements ClusterTransport {
+    private static final ConcurrentMap<String, List<LoopbackClusterTransport>> CHANNELS = new ConcurrentHashMap<>();
+
+    private final String channel;
+    private volatile Consumer<byte[]> receiver;
+
+    public LoopbackClusterTransport(String channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public void start(Consumer<byte[]> receiver) {
+        this.receiver = receiver;
+        CHANNELS.computeIfAbsent(channel, name -> new CopyOnWriteArrayList<>()).add(this);
+    }
+
+    @Override
+    public void send(byte[] message) {
+        List<LoopbackClusterTransport> transports = CHANNELS.get(channel);
+        if (transports != null) {
+            for (LoopbackClusterTransport transport : transports) {
+                Consumer<byte[]> target = transport.receiver;
+                if (transport != this && target != null) {
+                    target.accept(message.clone());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        List<LoopbackClusterTransport> transports = CHANNELS.get(channel);
+        if (transports != null) {
+            transports.remove(this);
+        }
+        receiver = null;
+    }
+}
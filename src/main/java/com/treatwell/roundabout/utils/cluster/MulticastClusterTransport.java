@@ -0,0 +1,104 @@
+package com.treatwell.roundabout.utils.cluster;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.MulticastSocket;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * {@link ClusterTransport} sending every message as a single UDP multicast datagram, which every
+ * node joined to the same group and port receives. Suited to nodes on the same network segment,
+ * such as a local development cluster; many cloud networks don't route multicast at all.
+ */
+public class MulticastClusterTransport implements ClusterTransport {
+    /**
+     * The largest UDP payload over IPv4.
+     */
+    public static final int MAX_MESSAGE_SIZE = 65507;
+    private static final Logger LOG = LoggerFactory.getLogger(MulticastClusterTransport.class);
+    private static final long RECEIVE_RETRY_DELAY = TimeUnit.SECONDS.toMillis(1);
+
+    private final InetAddress group;
+    private final int port;
+    private final int timeToLive;
+
+    private volatile MulticastSocket socket;
+
+    public MulticastClusterTransport(InetAddress group, int port, int timeToLive) {
+        this.group = group;
+        this.port = port;
+        this.timeToLive = timeToLive;
+    }
+
+    @Override
+    public synchronized void start(Consumer<byte[]> receiver) throws IOException {
+        MulticastSocket multicastSocket = new MulticastSocket(port);
+        multicastSocket.setTimeToLive(timeToLive);
+        multicastSocket.joinGroup(group);
+        socket = multicastSocket;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("cluster-health-receiver-");
+        threadFactory.setDaemon(true);
+        threadFactory.newThread(() -> receive(multicastSocket, receiver)).start();
+    }
+
+    private void receive(MulticastSocket multicastSocket, Consumer<byte[]> receiver) {
+        byte[] buffer = new byte[MAX_MESSAGE_SIZE];
+        DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+        while (!multicastSocket.isClosed()) {
+            try {
+                packet.setLength(buffer.length);
+                multicastSocket.receive(packet);
+                int offset = packet.getOffset();
+                receiver.accept(Arrays.copyOfRange(buffer, offset, offset + packet.getLength()));
+            } catch (IOException e) {
+                if (socket != multicastSocket || multicastSocket.isClosed()) {
+                    // Closed by stop()
+                    return;
+                }
+                // e.g. the network interface went down: back off rather than spin on the error
+                LOG.warn("Failed to receive cluster health message, retrying in {}ms", RECEIVE_RETRY_DELAY, e);
+                try {
+                    Thread.sleep(RECEIVE_RETRY_DELAY);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            } catch (RuntimeException e) {
+                LOG.warn("Failed to handle cluster health message", e);
+            }
+        }
+    }
+
+    @Override
+    public void send(byte[] message) throws IOException {
+        MulticastSocket multicastSocket = socket;
+        if (multicastSocket == null) {
+            return;
+        }
+        if (message.length > MAX_MESSAGE_SIZE) {
+            throw new IOException("Cluster health message of " + message.length + " bytes is too large for a datagram");
+        }
+        multicastSocket.send(new DatagramPacket(message, message.length, group, port));
+    }
+
+    @Override
+    public synchronized void stop() {
+        MulticastSocket multicastSocket = socket;
+        socket = null;
+        if (multicastSocket != null) {
+            try {
+                multicastSocket.leaveGroup(group);
+            } catch (IOException e) {
+                LOG.debug("Failed to leave multicast group {}", group, e);
+            }
+            multicastSocket.close();
+        }
+    }
+}
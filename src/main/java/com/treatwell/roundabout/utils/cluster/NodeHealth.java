@@ -0,0 +1,73 @@
+package com.treatwell.roundabout.utils.cluster;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A node's health, as exchanged between the nodes of a cluster: the aggregate status code, and
+ * the status code of each component, without any other detail.
+ *
+ * <p>Each node numbers the states it sends, so that a receiver can discard states arriving out of
+ * order. As that numbering restarts with the node, states are ordered by the node's incarnation
+ * (its start time) first.</p>
+ */
+public class NodeHealth implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final String nodeId;
+    private final long incarnation;
+    private final long sequence;
+    private final long timestamp;
+    private final String status;
+    private final Map<String, String> components;
+
+    public NodeHealth(String nodeId, long incarnation, long sequence, long timestamp, String status,
+            Map<String, String> components) {
+        this.nodeId = nodeId;
+        this.incarnation = incarnation;
+        this.sequence = sequence;
+        this.timestamp = timestamp;
+        this.status = status;
+        this.components = Collections.unmodifiableMap(components);
+    }
+
+    /**
+     * @return whether this state supersedes the given one, from the same node.
+     */
+    public boolean isNewerThan(NodeHealth other) {
+        return incarnation != other.incarnation ? incarnation > other.incarnation : sequence > other.sequence;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public long getIncarnation() {
+        return incarnation;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @return when the node sent this state, in milliseconds since the epoch, by its own clock.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Map<String, String> getComponents() {
+        return components;
+    }
+
+    @Override
+    public String toString() {
+        return "NodeHealth[" + nodeId + "#" + sequence + " " + status + " " + components + "]";
+    }
+}
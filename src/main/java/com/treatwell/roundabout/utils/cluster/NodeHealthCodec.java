@@ -0,0 +1,159 @@
+package com.treatwell.roundabout.utils.cluster;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.util.StringUtils;
+
+import com.treatwell.roundabout.utils.health.HealthStatuses;
+
+/**
+ * Compact binary encoding of batches of {@link NodeHealth}, small enough for a single datagram
+ * even with dozens of components. The usual status codes take a single byte, and no field names
+ * are sent.
+ *
+ * <p>Given a secret shared by the nodes of the cluster, every message ends with an HMAC-SHA256
+ * of its contents, and messages whose HMAC doesn't match are rejected, so that nothing else on
+ * the network can pass itself off as a node. Without a secret, messages carry no HMAC.</p>
+ *
+ * <pre>
+ * message   := version:byte count:short node* [hmac:byte[32]]
+ * node      := id:utf incarnation:long sequence:long timestamp:long status component-count:short component*
+ * component := name:utf status
+ * status    := index:byte | 0xFF code:utf
+ * </pre>
+ */
+public final class NodeHealthCodec {
+    private static final byte VERSION = 2;
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final int MAC_LENGTH = 32;
+    private static final int OTHER_STATUS = 0xFF;
+    private static final List<String> STATUSES = Arrays.asList(Status.UP.getCode(), Status.DOWN.getCode(),
+            Status.OUT_OF_SERVICE.getCode(), Status.UNKNOWN.getCode(), HealthStatuses.DEGRADED.getCode());
+
+    private final SecretKeySpec key;
+
+    /**
+     * @param secret the secret shared by the nodes of the cluster, or {@code null} to neither sign
+     * nor verify messages.
+     */
+    public NodeHealthCodec(String secret) {
+        this.key = StringUtils.hasLength(secret)
+                ? new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), MAC_ALGORITHM) : null;
+    }
+
+    public byte[] encode(Collection<NodeHealth> nodes) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeShort(nodes.size());
+            for (NodeHealth node : nodes) {
+                out.writeUTF(node.getNodeId());
+                out.writeLong(node.getIncarnation());
+                out.writeLong(node.getSequence());
+                out.writeLong(node.getTimestamp());
+                writeStatus(out, node.getStatus());
+                out.writeShort(node.getComponents().size());
+                for (Map.Entry<String, String> component : node.getComponents().entrySet()) {
+                    out.writeUTF(component.getKey());
+                    writeStatus(out, component.getValue());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (key != null) {
+            byte[] mac = mac(bytes.toByteArray(), 0, bytes.size());
+            bytes.write(mac, 0, mac.length);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @throws IOException if the message is truncated, of an unknown version, or its HMAC doesn't
+     * match.
+     */
+    public List<NodeHealth> decode(byte[] message, int offset, int length) throws IOException {
+        if (key != null) {
+            if (length < MAC_LENGTH) {
+                throw new IOException("Cluster health message is too short to be signed");
+            }
+            length -= MAC_LENGTH;
+            byte[] expected = mac(message, offset, length);
+            byte[] actual = Arrays.copyOfRange(message, offset + length, offset + length + MAC_LENGTH);
+            if (!MessageDigest.isEqual(expected, actual)) {
+                throw new IOException("Cluster health message has an invalid HMAC");
+            }
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(message, offset, length));
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported cluster health message version " + version);
+        }
+        int count = in.readUnsignedShort();
+        List<NodeHealth> nodes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String nodeId = in.readUTF();
+            long incarnation = in.readLong();
+            long sequence = in.readLong();
+            long timestamp = in.readLong();
+            String status = readStatus(in);
+            int componentCount = in.readUnsignedShort();
+            Map<String, String> components = new LinkedHashMap<>();
+            for (int j = 0; j < componentCount; j++) {
+                components.put(in.readUTF(), readStatus(in));
+            }
+            nodes.add(new NodeHealth(nodeId, incarnation, sequence, timestamp, status, components));
+        }
+        return nodes;
+    }
+
+    private byte[] mac(byte[] message, int offset, int length) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(key);
+            mac.update(message, offset, length);
+            return mac.doFinal();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(MAC_ALGORITHM + " is not available", e);
+        }
+    }
+
+    private static void writeStatus(DataOutputStream out, String status) throws IOException {
+        int index = STATUSES.indexOf(status);
+        if (index >= 0) {
+            out.writeByte(index);
+        } else {
+            out.writeByte(OTHER_STATUS);
+            out.writeUTF(status);
+        }
+    }
+
+    private static String readStatus(DataInputStream in) throws IOException {
+        int index = in.readUnsignedByte();
+        if (index == OTHER_STATUS) {
+            return in.readUTF();
+        }
+        if (index >= STATUSES.size()) {
+            throw new IOException("Unknown status index " + index);
+        }
+        return STATUSES.get(index);
+    }
+}
@@ -0,0 +1,33 @@
+package com.treatwell.roundabout.utils.config;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionEvaluationReport;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Actuator endpoint which generates the same auto-configuration report as the
+ * {@link AutoConfigurationReportInitializer}, but only when requested, at
+ * {@code /actuator/autoconfigreport} once included in
+ * {@code management.endpoints.web.exposure.include}.
+ */
+@Endpoint(id = "autoconfigreport")
+public class AutoConfigurationReportEndpoint {
+
+    private final ConfigurableApplicationContext applicationContext;
+
+    public AutoConfigurationReportEndpoint(ConfigurableApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+    }
+
+    @ReadOperation
+    public Map<String, List<Map<String, Object>>> report() {
+        CollectingReportSink sink = new CollectingReportSink();
+        new AutoConfigurationReportWriter().write(
+                ConditionEvaluationReport.get(applicationContext.getBeanFactory()), sink);
+        return sink.getSections();
+    }
+}
@@ -0,0 +1,23 @@
+package com.treatwell.roundabout.utils.config;
+
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnEnabledEndpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configures the {@link AutoConfigurationReportEndpoint} when the actuator is present.
+ */
+@Configuration
+@ConditionalOnClass(Endpoint.class)
+public class AutoConfigurationReportEndpointAutoConfiguration {
+
+    @Bean
+    @ConditionalOnEnabledEndpoint
+    public AutoConfigurationReportEndpoint autoConfigurationReportEndpoint(
+            ConfigurableApplicationContext applicationContext) {
+        return new AutoConfigurationReportEndpoint(applicationContext);
+    }
+}
@@ -0,0 +1,62 @@
+package com.treatwell.roundabout.utils.config;
+
+/**
+ * Destination for an auto-configuration report, which is streamed to it one section, entry and
+ * condition at a time by the {@link AutoConfigurationReportWriter}, rather than being built up
+ * as a whole in memory first.
+ */
+public interface AutoConfigurationReportSink {
+
+    /**
+     * Called once, before anything else.
+     */
+    default void begin() {
+    }
+
+    /**
+     * Called instead of any section if there's nothing in the report at all.
+     */
+    default void empty() {
+    }
+
+    /**
+     * Starts a new section, e.g. "Positive matches".
+     */
+    void section(String title);
+
+    /**
+     * Starts a new entry within the current section.
+     *
+     * @param outcome "matched" or "did not match", or {@code null} where not applicable
+     * (e.g. exclusions)
+     */
+    void entry(String name, String outcome);
+
+    /**
+     * Starts a new entry within the current section, for the given source of conditions, which
+     * identifies the entry in full, whereas its name may be abbreviated for display.
+     *
+     * @param source the fully qualified class (or {@code Class#method}) the entry is about
+     */
+    default void entry(String source, String name, String outcome) {
+        entry(name, outcome);
+    }
+
+    /**
+     * Adds a condition message to the current entry.
+     */
+    void condition(String message);
+
+    /**
+     * Called once, after everything else, when the report has been written in full.
+     */
+    default void end() {
+    }
+
+    /**
+     * Called once, last, whether or not the report was written in full, so that any resources
+     * held by the sink are released.
+     */
+    default void close() {
+    }
+}
@@ -0,0 +1,109 @@
+package com.treatwell.roundabout.utils.config;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionEvaluationReport;
+import org.springframework.boot.autoconfigure.condition.ConditionEvaluationReport.ConditionAndOutcome;
+import org.springframework.boot.autoconfigure.condition.ConditionEvaluationReport.ConditionAndOutcomes;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Streams a {@link ConditionEvaluationReport} to an {@link AutoConfigurationReportSink}, in a
+ * slightly more human readable form than Spring Boot's own report: sources are ordered by short
+ * name, and each condition is given separately.
+ */
+public class AutoConfigurationReportWriter {
+    private static final String CONDITIONAL = "@Conditional";
+
+    /**
+     * Writes the report to the sink, which is closed afterwards even if writing fails.
+     */
+    public void write(ConditionEvaluationReport report, AutoConfigurationReportSink sink) {
+        try {
+            sink.begin();
+            writeReport(report, sink);
+            sink.end();
+        } finally {
+            sink.close();
+        }
+    }
+
+    private void writeReport(ConditionEvaluationReport report, AutoConfigurationReportSink sink) {
+        Map<String, ConditionAndOutcomes> outcomes = report.getConditionAndOutcomesBySource();
+        if (outcomes.isEmpty() && report.getExclusions().isEmpty() && report.getUnconditionalClasses().isEmpty()) {
+            sink.empty();
+            return;
+        }
+
+        List<Source> sources = new ArrayList<>(outcomes.size());
+        outcomes.forEach((name, conditionAndOutcomes) -> sources.add(new Source(name, conditionAndOutcomes)));
+        sources.sort(Comparator.comparing(source -> source.shortName));
+
+        sink.section("Positive matches");
+        for (Source source : sources) {
+            if (source.outcomes.isFullMatch()) {
+                writeSource(sink, source);
+            }
+        }
+        sink.section("Negative matches");
+        for (Source source : sources) {
+            if (!source.outcomes.isFullMatch()) {
+                writeSource(sink, source);
+            }
+        }
+        sink.section("Exclusions");
+        for (String exclusion : report.getExclusions()) {
+            sink.entry(exclusion, exclusion, null);
+        }
+        sink.section("Unconditional classes");
+        for (String unconditionalClass : report.getUnconditionalClasses()) {
+            sink.entry(unconditionalClass, unconditionalClass, null);
+        }
+    }
+
+    private void writeSource(AutoConfigurationReportSink sink, Source source) {
+        sink.entry(source.name, source.shortName, source.outcomes.isFullMatch() ? "matched" : "did not match");
+        for (ConditionAndOutcome conditionAndOutcome : source.outcomes) {
+            String suffix = " (" + ClassUtils.getShortName(conditionAndOutcome.getCondition().getClass()) + ")";
+            String message = conditionAndOutcome.getOutcome().getMessage();
+            if (!StringUtils.hasLength(message)) {
+                sink.condition((conditionAndOutcome.getOutcome().isMatch() ? "matched" : "did not match") + suffix);
+                continue;
+            }
+            // Give each @Conditional in the message (and each existing line) a line of its own,
+            // skipping any empty ones
+            int start = 0;
+            while (start < message.length()) {
+                int newline = message.indexOf('\n', start);
+                int conditional = message.indexOf(CONDITIONAL, start + 1);
+                int end = message.length();
+                if (newline >= 0) {
+                    end = newline;
+                }
+                if (conditional >= 0 && conditional < end) {
+                    end = conditional;
+                }
+                if (end > start) {
+                    sink.condition(message.substring(start, end) + suffix);
+                }
+                start = end == newline ? end + 1 : end;
+            }
+        }
+    }
+
+    private static final class Source {
+        private final String name;
+        private final String shortName;
+        private final ConditionAndOutcomes outcomes;
+
+        private Source(String name, ConditionAndOutcomes outcomes) {
+            this.name = name;
+            this.shortName = ClassUtils.getShortName(name);
+            this.outcomes = outcomes;
+        }
+    }
+}
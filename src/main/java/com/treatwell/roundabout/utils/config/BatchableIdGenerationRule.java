@@ -0,0 +1,77 @@
+package com.treatwell.roundabout.utils.config;
+
+import java.lang.reflect.AnnotatedElement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.repository.core.support.AbstractRepositoryMetadata;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Flags entities whose identifiers are generated in a way which prevents (or defeats) JDBC
+ * insert batching: {@link GenerationType#IDENTITY} requires a round-trip per insert to read the
+ * key back, {@link GenerationType#AUTO} leaves the choice to the database dialect, and a sequence
+ * with an allocation size of 1 requires a round-trip per insert to fetch the next value. The
+ * sequence's {@link SequenceGenerator} is looked up on the id itself, then on the entity class and
+ * its superclasses.
+ */
+public class BatchableIdGenerationRule implements RepositoryRule {
+
+    @Override
+    public String getName() {
+        return "batchable-id-generation";
+    }
+
+    @Override
+    public RepositoryRuleSeverity getDefaultSeverity() {
+        return RepositoryRuleSeverity.WARN;
+    }
+
+    @Override
+    public void check(Class<?> repositoryInterface, Consumer<String> violations) {
+        Class<?> domainType = AbstractRepositoryMetadata.getMetadata(repositoryInterface).getDomainType();
+        List<AnnotatedElement> idElements = new ArrayList<>();
+        ReflectionUtils.doWithFields(domainType, idElements::add, field -> field.isAnnotationPresent(Id.class));
+        ReflectionUtils.doWithMethods(domainType, idElements::add, method -> method.isAnnotationPresent(Id.class));
+
+        for (AnnotatedElement element : idElements) {
+            GeneratedValue generatedValue = AnnotationUtils.getAnnotation(element, GeneratedValue.class);
+            if (generatedValue == null) {
+                continue;
+            }
+            if (generatedValue.strategy() == GenerationType.IDENTITY) {
+                violations.accept(domainType.getSimpleName() + " uses IDENTITY ids, which disables JDBC insert batching");
+            } else if (generatedValue.strategy() == GenerationType.AUTO) {
+                violations.accept(domainType.getSimpleName() + " uses the default AUTO id strategy, which may"
+                        + " disable JDBC insert batching; use a pooled SEQUENCE generator");
+            } else if (generatedValue.strategy() == GenerationType.SEQUENCE) {
+                SequenceGenerator sequence = findSequenceGenerator(element, domainType, generatedValue.generator());
+                if (sequence != null && sequence.allocationSize() <= 1) {
+                    violations.accept(domainType.getSimpleName()
+                            + " fetches a sequence value per insert; increase its allocationSize");
+                }
+            }
+        }
+    }
+
+    private SequenceGenerator findSequenceGenerator(AnnotatedElement element, Class<?> domainType, String generator) {
+        SequenceGenerator sequence = AnnotationUtils.getAnnotation(element, SequenceGenerator.class);
+        if (sequence != null && (generator.isEmpty() || generator.equals(sequence.name()))) {
+            return sequence;
+        }
+        for (Class<?> type = domainType; type != null && type != Object.class; type = type.getSuperclass()) {
+            sequence = AnnotationUtils.getAnnotation(type, SequenceGenerator.class);
+            if (sequence != null && generator.equals(sequence.name())) {
+                return sequence;
+            }
+        }
+        return null;
+    }
+}
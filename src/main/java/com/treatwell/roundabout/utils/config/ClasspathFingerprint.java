@@ -0,0 +1,159 @@
+package com.treatwell.roundabout.utils.config;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.StringUtils;
+
+/**
+ * A fingerprint of everything a {@link ClassLoader} can load classes and resources from, used to
+ * tell whether results derived from those classes (such as a {@link ConditionCache}) are still
+ * valid.
+ *
+ * <p>The locations are read from the class loader itself (and its parents), rather than from
+ * {@code java.class.path}, so that e.g. executable jars, devtools restarts and servlet containers
+ * are fingerprinted correctly. Archives contribute their size and modification time; directories
+ * contribute the relative path, size and modification time of every file within them, so that
+ * recompiling a single class changes the fingerprint. If a class loader's locations can't be
+ * determined, there's no fingerprint at all, and callers must not cache anything.</p>
+ *
+ * <p>Fingerprints are computed at most once per class loader.</p>
+ */
+public final class ClasspathFingerprint {
+    private static final Map<ClassLoader, Optional<ClasspathFingerprint>> FINGERPRINTS =
+            new ConcurrentReferenceHashMap<>();
+
+    private final String value;
+
+    private ClasspathFingerprint(String value) {
+        this.value = value;
+    }
+
+    /**
+     * @return a digest of the class loader's locations and their contents.
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * @return the fingerprint of the given class loader, or {@code null} if it can't be determined.
+     */
+    public static ClasspathFingerprint of(ClassLoader classLoader) {
+        ClassLoader loader = classLoader != null ? classLoader : ClassUtils.getDefaultClassLoader();
+        return FINGERPRINTS.computeIfAbsent(loader, key -> Optional.ofNullable(compute(key))).orElse(null);
+    }
+
+    private static ClasspathFingerprint compute(ClassLoader classLoader) {
+        List<URL> urls = getUrls(classLoader);
+        if (urls == null) {
+            return null;
+        }
+        MessageDigest value = sha256();
+        update(value, System.getProperty("java.home"), System.getProperty("java.version"));
+        for (URL url : urls) {
+            update(value, url.toString());
+            if (!updateContents(value, url)) {
+                return null;
+            }
+        }
+        return new ClasspathFingerprint(hex(value.digest()));
+    }
+
+    private static List<URL> getUrls(ClassLoader classLoader) {
+        Set<URL> urls = new LinkedHashSet<>();
+        ClassLoader systemClassLoader = ClassLoader.getSystemClassLoader();
+        for (ClassLoader loader = classLoader; loader != null; loader = loader.getParent()) {
+            if (loader == systemClassLoader) {
+                // From Java 9 the system class loader no longer exposes its URLs, and its parents
+                // only load the JDK, which is covered by java.home and java.version
+                for (String entry : StringUtils.tokenizeToStringArray(
+                        System.getProperty("java.class.path", ""), File.pathSeparator)) {
+                    try {
+                        urls.add(new File(entry).toURI().toURL());
+                    } catch (IOException e) {
+                        return null;
+                    }
+                }
+                return new ArrayList<>(urls);
+            }
+            if (!(loader instanceof URLClassLoader)) {
+                return null;
+            }
+            urls.addAll(Arrays.asList(((URLClassLoader) loader).getURLs()));
+        }
+        return new ArrayList<>(urls);
+    }
+
+    private static boolean updateContents(MessageDigest digest, URL url) {
+        try {
+            if ("jar".equals(url.getProtocol())) {
+                // Nested archives, e.g. jar:file:/app.jar!/BOOT-INF/lib/x.jar!/, change with the outer one
+                String file = url.getPath();
+                int separator = file.indexOf("!/");
+                return updateContents(digest, new URL(separator >= 0 ? file.substring(0, separator) : file));
+            }
+            if (!"file".equals(url.getProtocol())) {
+                return false;
+            }
+            Path path = Paths.get(url.toURI());
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> files = Files.walk(path)) {
+                    for (Path file : files.filter(Files::isRegularFile).sorted().collect(Collectors.toList())) {
+                        update(digest, path.relativize(file).toString(), Long.toString(Files.size(file)),
+                                Long.toString(Files.getLastModifiedTime(file).toMillis()));
+                    }
+                }
+            } else if (Files.exists(path)) {
+                update(digest, Long.toString(Files.size(path)),
+                        Long.toString(Files.getLastModifiedTime(path).toMillis()));
+            }
+            return true;
+        } catch (IOException | URISyntaxException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static void update(MessageDigest digest, String... values) {
+        for (String value : values) {
+            digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
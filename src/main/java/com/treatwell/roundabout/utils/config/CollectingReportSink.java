@@ -0,0 +1,43 @@
+package com.treatwell.roundabout.utils.config;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link AutoConfigurationReportSink} which collects the report into a structure of maps and
+ * lists, suitable for returning from an endpoint.
+ */
+public class CollectingReportSink implements AutoConfigurationReportSink {
+    private final Map<String, List<Map<String, Object>>> sections = new LinkedHashMap<>();
+    private List<Map<String, Object>> section;
+    private List<String> conditions;
+
+    @Override
+    public void section(String title) {
+        section = new ArrayList<>();
+        sections.put(title, section);
+    }
+
+    @Override
+    public void entry(String name, String outcome) {
+        conditions = new ArrayList<>();
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("name", name);
+        if (outcome != null) {
+            entry.put("outcome", outcome);
+        }
+        entry.put("conditions", conditions);
+        section.add(entry);
+    }
+
+    @Override
+    public void condition(String message) {
+        conditions.add(message);
+    }
+
+    public Map<String, List<Map<String, Object>>> getSections() {
+        return sections;
+    }
+}
@@ -0,0 +1,116 @@
+package com.treatwell.roundabout.utils.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+/**
+ * A persisted index of the auto-configuration classes which were skipped purely because of
+ * missing classes, along with the {@link ClasspathFingerprint} they were computed against. As
+ * such outcomes can only change if the classpath changes, a later start with the same
+ * fingerprint can skip those auto-configurations up front, through the
+ * {@link ConditionCacheImportFilter}. Nothing is cached when the classpath can't be
+ * fingerprinted.
+ *
+ * <p>This feature is disabled by default, and enabled by setting
+ * <pre>
+ * <code>
+ * boot.condition-cache.enabled=true
+ * </code>
+ * </pre>
+ * along with {@code boot.condition-cache.location}, which must outlive the application's
+ * instances for the cache to ever be used: for example a persistent volume, or a location within
+ * the image which is populated by starting the application once while building it. There's no
+ * default location, as fingerprinting the classpath costs every start a stat of each archive and
+ * a walk of each directory on it, which is only worth paying if the index is then reused; the
+ * cache is disabled when no location is set. The index is written by the
+ * {@link ConditionCacheRecorder} on the first start with a given classpath.</p>
+ */
+public final class ConditionCache {
+    public static final String ENABLED_PROPERTY = "boot.condition-cache.enabled";
+    public static final String LOCATION_PROPERTY = "boot.condition-cache.location";
+
+    private static final String FINGERPRINT_KEY = "fingerprint";
+    private static final String SKIPPED_KEY = "skipped";
+
+    private final String fingerprint;
+    private final Set<String> skipped;
+
+    public ConditionCache(String fingerprint, Set<String> skipped) {
+        this.fingerprint = fingerprint;
+        this.skipped = Collections.unmodifiableSet(new TreeSet<>(skipped));
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * @return the auto-configuration classes which don't match on this classpath.
+     */
+    public Set<String> getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * @return whether the cache is enabled, and has a location to be kept at.
+     */
+    public static boolean isEnabled(Environment environment) {
+        return isRequested(environment) && StringUtils.hasText(environment.getProperty(LOCATION_PROPERTY));
+    }
+
+    /**
+     * @return whether the cache is enabled, regardless of whether it has a location.
+     */
+    static boolean isRequested(Environment environment) {
+        return environment != null && environment.getProperty(ENABLED_PROPERTY, Boolean.class, false);
+    }
+
+    public static Path getLocation(Environment environment) {
+        return Paths.get(environment.getProperty(LOCATION_PROPERTY));
+    }
+
+    /**
+     * @return the index at the given location, or {@code null} if there's none (or it can't be read).
+     */
+    public static ConditionCache load(Path location) {
+        if (!Files.isReadable(location)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(location)) {
+            properties.load(in);
+        } catch (IOException e) {
+            return null;
+        }
+        return new ConditionCache(properties.getProperty(FINGERPRINT_KEY),
+                StringUtils.commaDelimitedListToSet(properties.getProperty(SKIPPED_KEY, "")));
+    }
+
+    public void store(Path location) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(FINGERPRINT_KEY, fingerprint);
+        properties.setProperty(SKIPPED_KEY, StringUtils.collectionToCommaDelimitedString(skipped));
+        Path parent = location.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        // Write then move, so that concurrently starting instances never read a partial index
+        Path temp = Files.createTempFile(parent, "boot-condition-cache", ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            properties.store(out, "Auto-configurations skipped for missing classes");
+        }
+        Files.move(temp, location, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,91 @@
+package com.treatwell.roundabout.utils.config;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
+import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
+import org.springframework.boot.autoconfigure.condition.ConditionEvaluationReport;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * {@link AutoConfigurationImportFilter} which skips the auto-configurations recorded in a
+ * {@link ConditionCache}, provided it was computed against the current classpath. Note that this
+ * doesn't need to be manually instantiated as it will be automatically picked up by Spring Boot
+ * via the <code>META-INF/spring.factories</code> file in this module.
+ *
+ * <p>If the cache is disabled, missing or stale, every candidate is let through for normal
+ * evaluation. Skipped candidates are still recorded in the {@link ConditionEvaluationReport}, as
+ * not matching the {@link CachedClassCondition}.</p>
+ *
+ * <p>This runs ahead of Spring Boot's own filters, so that cached candidates don't have their
+ * classes checked at all.</p>
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ConditionCacheImportFilter
+        implements AutoConfigurationImportFilter, EnvironmentAware, BeanFactoryAware, BeanClassLoaderAware {
+    private static final Condition CACHED_CLASS_CONDITION = new CachedClassCondition();
+
+    private Environment environment;
+    private ClassLoader beanClassLoader;
+    private ConfigurableListableBeanFactory beanFactory;
+
+    @Override
+    public boolean[] match(String[] autoConfigurationClasses, AutoConfigurationMetadata autoConfigurationMetadata) {
+        boolean[] matches = new boolean[autoConfigurationClasses.length];
+        ClasspathFingerprint fingerprint = ConditionCache.isEnabled(environment)
+                ? ClasspathFingerprint.of(beanClassLoader) : null;
+        ConditionCache cache = fingerprint != null
+                ? ConditionCache.load(ConditionCache.getLocation(environment)) : null;
+        boolean usable = cache != null && fingerprint.getValue().equals(cache.getFingerprint());
+        ConditionEvaluationReport report = usable && beanFactory != null
+                ? ConditionEvaluationReport.get(beanFactory) : null;
+        for (int i = 0; i < autoConfigurationClasses.length; i++) {
+            String candidate = autoConfigurationClasses[i];
+            matches[i] = !usable || candidate == null || !cache.getSkipped().contains(candidate);
+            if (!matches[i] && report != null) {
+                report.recordConditionEvaluation(candidate, CACHED_CLASS_CONDITION,
+                        ConditionOutcome.noMatch("skipped by condition cache " + cache.getFingerprint()));
+            }
+        }
+        return matches;
+    }
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public void setBeanClassLoader(ClassLoader classLoader) {
+        this.beanClassLoader = classLoader;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        if (beanFactory instanceof ConfigurableListableBeanFactory) {
+            this.beanFactory = (ConfigurableListableBeanFactory) beanFactory;
+        }
+    }
+
+    /**
+     * The condition which candidates skipped by the cache are reported as not matching, in place
+     * of the class conditions they failed when the cache was recorded. It's never evaluated.
+     */
+    static final class CachedClassCondition implements Condition {
+
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return false;
+        }
+    }
+}
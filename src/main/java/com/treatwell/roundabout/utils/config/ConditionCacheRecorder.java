@@ -0,0 +1,84 @@
+package com.treatwell.roundabout.utils.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionEvaluationReport;
+import org.springframework.boot.autoconfigure.condition.ConditionEvaluationReport.ConditionAndOutcome;
+import org.springframework.boot.autoconfigure.condition.ConditionEvaluationReport.ConditionAndOutcomes;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Writes a {@link ConditionCache} once the application has started, if enabled and there isn't
+ * already one for the current classpath. Note that this doesn't need to be manually instantiated
+ * as it will be automatically picked up by Spring Boot via the
+ * <code>META-INF/spring.factories</code> file in this module.
+ *
+ * <p>Only auto-configuration classes which failed to match solely because of class conditions
+ * are recorded, as those are the only outcomes which can't vary between starts with the same
+ * classpath (unlike, for example, property or bean conditions).</p>
+ */
+public class ConditionCacheRecorder implements ApplicationListener<ApplicationReadyEvent> {
+    private static final Logger LOG = LoggerFactory.getLogger(ConditionCacheRecorder.class);
+    private static final String ON_CLASS_CONDITION = "org.springframework.boot.autoconfigure.condition.OnClassCondition";
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        ConfigurableApplicationContext applicationContext = event.getApplicationContext();
+        if (!ConditionCache.isEnabled(applicationContext.getEnvironment())) {
+            if (ConditionCache.isRequested(applicationContext.getEnvironment())) {
+                LOG.warn("Condition cache is disabled, as {} isn't set", ConditionCache.LOCATION_PROPERTY);
+            }
+            return;
+        }
+        ClasspathFingerprint fingerprint = ClasspathFingerprint.of(
+                applicationContext.getBeanFactory().getBeanClassLoader());
+        if (fingerprint == null) {
+            LOG.info("Not recording a condition cache, as the classpath can't be fingerprinted");
+            return;
+        }
+        Path location = ConditionCache.getLocation(applicationContext.getEnvironment());
+        ConditionCache existing = ConditionCache.load(location);
+        if (existing != null && fingerprint.getValue().equals(existing.getFingerprint())) {
+            return;
+        }
+
+        ConditionEvaluationReport report = ConditionEvaluationReport.get(applicationContext.getBeanFactory());
+        Set<String> skipped = new TreeSet<>();
+        for (Map.Entry<String, ConditionAndOutcomes> entry : report.getConditionAndOutcomesBySource().entrySet()) {
+            // Only class-level outcomes; method-level sources are keyed as Class#method
+            if (!entry.getKey().contains("#") && isClassConditionFailure(entry.getValue())) {
+                skipped.add(entry.getKey());
+            }
+        }
+        try {
+            new ConditionCache(fingerprint.getValue(), skipped).store(location);
+            LOG.info("Recorded {} auto-configurations skipped for missing classes in {}", skipped.size(), location);
+        } catch (IOException e) {
+            LOG.warn("Failed to write condition cache to {}", location, e);
+        }
+    }
+
+    private boolean isClassConditionFailure(ConditionAndOutcomes outcomes) {
+        if (outcomes.isFullMatch()) {
+            return false;
+        }
+        for (ConditionAndOutcome outcome : outcomes) {
+            if (!outcome.getOutcome().isMatch()) {
+                String condition = outcome.getCondition().getClass().getName();
+                if (!ON_CLASS_CONDITION.equals(condition)
+                        && !ConditionCacheImportFilter.CachedClassCondition.class.getName().equals(condition)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,129 @@
+package com.treatwell.roundabout.utils.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import org.springframework.util.ClassUtils;
+
+/**
+ * {@link AutoConfigurationReportSink} decorator which only passes on the entries whose outcome
+ * differs from that stored by a previous run, followed by those which have since disappeared.
+ * The current outcomes are then stored in place of the previous ones. Entries are compared by
+ * their full source (class or method) name, so that sources sharing a short name are told apart.
+ */
+public class DiffReportSink implements AutoConfigurationReportSink {
+    private final AutoConfigurationReportSink delegate;
+    private final Path store;
+    private final Map<String, String> previous = new HashMap<>();
+    private final Map<String, String> current = new LinkedHashMap<>();
+    private String section;
+    private boolean sectionWritten;
+    private boolean forwarding;
+    private boolean changed;
+
+    public DiffReportSink(AutoConfigurationReportSink delegate, Path store) {
+        this.delegate = delegate;
+        this.store = store;
+    }
+
+    @Override
+    public void begin() {
+        if (Files.isReadable(store)) {
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(store)) {
+                properties.load(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            properties.stringPropertyNames().forEach(key -> previous.put(key, properties.getProperty(key)));
+        }
+        delegate.begin();
+    }
+
+    @Override
+    public void empty() {
+        delegate.empty();
+    }
+
+    @Override
+    public void section(String title) {
+        section = title;
+        sectionWritten = false;
+        forwarding = false;
+    }
+
+    @Override
+    public void entry(String name, String outcome) {
+        entry(name, name, outcome);
+    }
+
+    @Override
+    public void entry(String source, String name, String outcome) {
+        String key = section + ":" + source;
+        String value = outcome != null ? outcome : "";
+        current.put(key, value);
+        forwarding = !value.equals(previous.remove(key));
+        if (forwarding) {
+            changed = true;
+            if (!sectionWritten) {
+                delegate.section(section + " (changed)");
+                sectionWritten = true;
+            }
+            delegate.entry(source, name, outcome);
+        }
+    }
+
+    @Override
+    public void condition(String message) {
+        if (forwarding) {
+            delegate.condition(message);
+        }
+    }
+
+    @Override
+    public void end() {
+        if (!previous.isEmpty()) {
+            delegate.section("Removed since previous report");
+            new TreeMap<>(previous).forEach((key, outcome) -> {
+                String source = key.substring(key.indexOf(':') + 1);
+                String name = key.substring(0, key.indexOf(':') + 1) + " " + ClassUtils.getShortName(source);
+                delegate.entry(source, name, outcome.isEmpty() ? null : outcome);
+            });
+        } else if (!changed) {
+            delegate.section("No changes since previous report");
+        }
+        delegate.end();
+
+        Properties properties = new Properties();
+        properties.putAll(current);
+        try {
+            Path parent = store.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            // Write then move, so that a failed or concurrent write never leaves a partial store
+            Path temp = Files.createTempFile(parent, "auto-configuration-report", ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, "Auto-configuration outcomes");
+            }
+            Files.move(temp, store, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
@@ -0,0 +1,145 @@
+package com.treatwell.roundabout.utils.config;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * {@link AutoConfigurationReportSink} which streams the report to a JSON file, in the form
+ * <pre>
+ * {"sections":[{"title":"...","entries":[{"name":"...","outcome":"...","conditions":["..."]}]}]}
+ * </pre>
+ */
+public class JsonFileReportSink implements AutoConfigurationReportSink {
+    private final Path file;
+    private Writer writer;
+    private boolean firstSection = true;
+    private boolean firstEntry;
+    private boolean firstCondition;
+    private boolean inSection;
+    private boolean inEntry;
+
+    public JsonFileReportSink(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public void begin() {
+        try {
+            writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        write("{\"sections\":[");
+    }
+
+    @Override
+    public void section(String title) {
+        endSection();
+        write(firstSection ? "\n" : ",\n");
+        write("{\"title\":" + quote(title) + ",\"entries\":[");
+        firstSection = false;
+        firstEntry = true;
+        inSection = true;
+    }
+
+    @Override
+    public void entry(String name, String outcome) {
+        endEntry();
+        write(firstEntry ? "\n" : ",\n");
+        write("{\"name\":" + quote(name) + ",\"outcome\":" + quote(outcome) + ",\"conditions\":[");
+        firstEntry = false;
+        firstCondition = true;
+        inEntry = true;
+    }
+
+    @Override
+    public void condition(String message) {
+        write((firstCondition ? "" : ",") + quote(message));
+        firstCondition = false;
+    }
+
+    @Override
+    public void end() {
+        endSection();
+        write("\n]}\n");
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                writer = null;
+            }
+        }
+    }
+
+    private void endEntry() {
+        if (inEntry) {
+            write("]}");
+            inEntry = false;
+        }
+    }
+
+    private void endSection() {
+        endEntry();
+        if (inSection) {
+            write("]}");
+            inSection = false;
+        }
+    }
+
+    private void write(String json) {
+        try {
+            writer.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    quoted.append("\\\"");
+                    break;
+                case '\\':
+                    quoted.append("\\\\");
+                    break;
+                case '\n':
+                    quoted.append("\\n");
+                    break;
+                case '\r':
+                    quoted.append("\\r");
+                    break;
+                case '\t':
+                    quoted.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
@@ -0,0 +1,79 @@
+package com.treatwell.roundabout.utils.config;
+
+import org.slf4j.Logger;
+
+/**
+ * {@link AutoConfigurationReportSink} which logs the report at INFO level, with one log event
+ * per section and per entry (including its conditions), so that no single log line grows with
+ * the number of auto-configurations.
+ */
+public class LoggingReportSink implements AutoConfigurationReportSink {
+    private final Logger log;
+    private final StringBuilder entry = new StringBuilder();
+    private int entriesInSection;
+    private boolean inSection;
+
+    public LoggingReportSink(Logger log) {
+        this.log = log;
+    }
+
+    @Override
+    public void begin() {
+        log.info("\n"
+                + "=========================\n"
+                + "AUTO-CONFIGURATION REPORT\n"
+                + "=========================");
+    }
+
+    @Override
+    public void empty() {
+        log.info("Nothing useful to report. No apparent Spring Boot activity occurred.");
+    }
+
+    @Override
+    public void section(String title) {
+        endSection();
+        StringBuilder underline = new StringBuilder();
+        for (int i = 0; i <= title.length(); i++) {
+            underline.append('-');
+        }
+        log.info("\n{}:\n{}", title, underline);
+        inSection = true;
+        entriesInSection = 0;
+    }
+
+    @Override
+    public void entry(String name, String outcome) {
+        flushEntry();
+        entriesInSection++;
+        entry.append("   ").append(name);
+        if (outcome != null) {
+            entry.append(' ').append(outcome);
+        }
+    }
+
+    @Override
+    public void condition(String message) {
+        entry.append("\n      - ").append(message);
+    }
+
+    @Override
+    public void end() {
+        endSection();
+    }
+
+    private void endSection() {
+        flushEntry();
+        if (inSection && entriesInSection == 0) {
+            log.info("    None");
+        }
+        inSection = false;
+    }
+
+    private void flushEntry() {
+        if (entry.length() > 0) {
+            log.info(entry.toString());
+            entry.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.treatwell.roundabout.utils.config;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import com.treatwell.roundabout.utils.repository.BulkOperationsRepository;
+
+/**
+ * Flags query methods returning many results (collections, iterables and streams) which don't
+ * declare a JDBC fetch size through {@link QueryHints}, as drivers default to fetching rows in
+ * very small batches (or, for some, all at once). Pages and slices are bounded by their
+ * {@code Pageable}, so aren't flagged.
+ *
+ * <p>Query methods inherited from the application's own base interfaces are checked too, but not
+ * those of Spring Data's interfaces, nor those of the {@link BulkOperationsRepository}, as they're
+ * implemented by the repository base class rather than being derived queries.</p>
+ */
+public class QueryFetchSizeRule implements RepositoryRule {
+    private static final String SPRING_DATA_PACKAGE = "org.springframework.data.";
+    private static final String[] FETCH_SIZE_HINTS = { "org.hibernate.fetchSize", "javax.persistence.fetchSize" };
+
+    @Override
+    public String getName() {
+        return "query-fetch-size";
+    }
+
+    @Override
+    public RepositoryRuleSeverity getDefaultSeverity() {
+        return RepositoryRuleSeverity.WARN;
+    }
+
+    @Override
+    public void check(Class<?> repositoryInterface, Consumer<String> violations) {
+        for (Method method : repositoryInterface.getMethods()) {
+            if (method.isDefault() || method.isBridge() || isImplementedByBaseClass(method) || !returnsMany(method)) {
+                continue;
+            }
+            QueryHints hints = AnnotationUtils.findAnnotation(method, QueryHints.class);
+            if (hints == null || !hasFetchSize(hints)) {
+                violations.accept(method.getName() + "() returns multiple results without a fetch size @QueryHint");
+            }
+        }
+    }
+
+    private boolean isImplementedByBaseClass(Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        return declaringClass.getName().startsWith(SPRING_DATA_PACKAGE)
+                || declaringClass == BulkOperationsRepository.class;
+    }
+
+    private boolean returnsMany(Method method) {
+        Class<?> returnType = method.getReturnType();
+        if (Slice.class.isAssignableFrom(returnType)) {
+            return false;
+        }
+        return Collection.class.isAssignableFrom(returnType) || Iterable.class.isAssignableFrom(returnType)
+                || Stream.class.isAssignableFrom(returnType);
+    }
+
+    private boolean hasFetchSize(QueryHints hints) {
+        for (QueryHint hint : hints.value()) {
+            for (String name : FETCH_SIZE_HINTS) {
+                if (name.equals(hint.name())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,46 @@
+package com.treatwell.roundabout.utils.config;
+
+import java.lang.reflect.Method;
+import java.util.function.Consumer;
+
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Flags query-only repositories (those neither inheriting the {@link CrudRepository} write
+ * methods, nor declaring any {@link Modifying} or save/delete methods) which aren't
+ * {@code @Transactional(readOnly = true)}. Read-only transactions let Hibernate skip dirty
+ * checking and flushing, and let the driver route to replicas where supported.
+ */
+public class ReadOnlyRepositoryRule implements RepositoryRule {
+
+    @Override
+    public String getName() {
+        return "read-only";
+    }
+
+    @Override
+    public RepositoryRuleSeverity getDefaultSeverity() {
+        return RepositoryRuleSeverity.WARN;
+    }
+
+    @Override
+    public void check(Class<?> repositoryInterface, Consumer<String> violations) {
+        if (CrudRepository.class.isAssignableFrom(repositoryInterface)) {
+            return;
+        }
+        for (Method method : repositoryInterface.getMethods()) {
+            String name = method.getName();
+            if (AnnotationUtils.findAnnotation(method, Modifying.class) != null
+                    || name.startsWith("save") || name.startsWith("delete") || name.startsWith("remove")) {
+                return;
+            }
+        }
+        Transactional transactional = AnnotationUtils.findAnnotation(repositoryInterface, Transactional.class);
+        if (transactional == null || !transactional.readOnly()) {
+            violations.accept("is query-only, but not @Transactional(readOnly = true)");
+        }
+    }
+}
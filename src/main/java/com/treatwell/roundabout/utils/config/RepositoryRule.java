@@ -0,0 +1,36 @@
+package com.treatwell.roundabout.utils.config;
+
+import java.util.function.Consumer;
+
+import org.springframework.data.repository.Repository;
+
+/**
+ * A single check applied by the {@link RepositoryValidator} to every {@link Repository}
+ * interface in the application. Listing an implementation under this interface's name in
+ * {@code META-INF/spring.factories} adds it to the built-in rules; it needs a no-argument
+ * constructor, as rules are created before any bean. Rules are applied to several repositories
+ * concurrently, so must be thread-safe.
+ *
+ * <p>How violations are treated is given by {@link #getDefaultSeverity()}, unless overridden through
+ * {@code boot.repository-validation.severity.<name>=off|warn|fail}.</p>
+ */
+public interface RepositoryRule {
+
+    /**
+     * @return a short, stable name for this rule, used in reports and configuration.
+     */
+    String getName();
+
+    /**
+     * @return how violations of this rule are treated, unless configured otherwise.
+     */
+    default RepositoryRuleSeverity getDefaultSeverity() {
+        return RepositoryRuleSeverity.FAIL;
+    }
+
+    /**
+     * Checks the given repository interface, passing a message to {@code violations} for every
+     * problem found.
+     */
+    void check(Class<?> repositoryInterface, Consumer<String> violations);
+}
@@ -0,0 +1,19 @@
+package com.treatwell.roundabout.utils.config;
+
+/**
+ * How the {@link RepositoryValidator} reacts to violations of a {@link RepositoryRule}.
+ */
+public enum RepositoryRuleSeverity {
+    /**
+     * The rule isn't applied at all.
+     */
+    OFF,
+    /**
+     * Violations are logged as warnings.
+     */
+    WARN,
+    /**
+     * Violations fail startup.
+     */
+    FAIL
+}
@@ -0,0 +1,88 @@
+package com.treatwell.roundabout.utils.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Properties;
+import java.util.Set;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * A persisted record of the repository interfaces which passed every {@link RepositoryRule},
+ * along with the rules applied and a fingerprint of the classpath (see
+ * {@link ClasspathFingerprint}). As neither the interfaces nor the rules can change
+ * without the classpath changing, a later start with the same fingerprint and rules can skip
+ * re-validating those repositories.
+ */
+public class RepositoryValidationIndex {
+    private static final String FINGERPRINT_KEY = "fingerprint";
+    private static final String RULES_KEY = "rules";
+    private static final String VALID_KEY = "valid";
+
+    private final String fingerprint;
+    private final Set<String> rules;
+    private final Set<String> valid;
+
+    public RepositoryValidationIndex(String fingerprint, Set<String> rules, Set<String> valid) {
+        this.fingerprint = fingerprint;
+        this.rules = rules;
+        this.valid = valid;
+    }
+
+    /**
+     * @return whether this index applies to the current classpath and the given rules.
+     */
+    public boolean isCurrent(String currentFingerprint, Collection<RepositoryRule> currentRules) {
+        if (!currentFingerprint.equals(fingerprint) || currentRules.size() != rules.size()) {
+            return false;
+        }
+        return currentRules.stream().allMatch(rule -> rules.contains(rule.getClass().getName()));
+    }
+
+    /**
+     * @return the names of the repository interfaces which passed every rule.
+     */
+    public Set<String> getValid() {
+        return valid;
+    }
+
+    /**
+     * @return the index at the given location, or {@code null} if there's none (or it can't be read).
+     */
+    public static RepositoryValidationIndex load(Path location) {
+        if (!Files.isReadable(location)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(location)) {
+            properties.load(in);
+        } catch (IOException e) {
+            return null;
+        }
+        return new RepositoryValidationIndex(properties.getProperty(FINGERPRINT_KEY, ""),
+                StringUtils.commaDelimitedListToSet(properties.getProperty(RULES_KEY, "")),
+                StringUtils.commaDelimitedListToSet(properties.getProperty(VALID_KEY, "")));
+    }
+
+    public void store(Path location) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(FINGERPRINT_KEY, fingerprint);
+        properties.setProperty(RULES_KEY, StringUtils.collectionToCommaDelimitedString(rules));
+        properties.setProperty(VALID_KEY, StringUtils.collectionToCommaDelimitedString(valid));
+        Path parent = location.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        // Write then move, so that concurrently starting instances never read a partial index
+        Path temp = Files.createTempFile(parent, "repository-validation-index", ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            properties.store(out, "Repository interfaces which passed validation");
+        }
+        Files.move(temp, location, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
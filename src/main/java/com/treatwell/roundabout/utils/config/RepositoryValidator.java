@@ -0,0 +1,235 @@
+package com.treatwell.roundabout.utils.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.ConstructorArgumentValues.ValueHolder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.support.SpringFactoriesLoader;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Configuration validator that applies every {@link RepositoryRule} to every {@link Repository}
+ * interface in the application, failing startup if any rule with {@link RepositoryRuleSeverity#FAIL}
+ * severity is violated, and logging warnings for those with {@link RepositoryRuleSeverity#WARN}.
+ *
+ * <p>Besides the {@link TransactionalRepositoryRule}, a set of JPA performance rules is applied
+ * when JPA is present, flagging common traps before they reach production. The severity of
+ * any rule can be changed through {@code boot.repository-validation.severity.<name>}. Further
+ * rules are listed under {@code com.treatwell.roundabout.utils.config.RepositoryRule} in
+ * {@code META-INF/spring.factories}, and created directly rather than as beans, as this runs
+ * before any bean may be instantiated. A single repository interface can be exempted from named
+ * rules with {@link SuppressRepositoryRules}.</p>
+ *
+ * <p>Repository interfaces are read from the repository bean definitions before any bean is
+ * instantiated, and checked in parallel on a small pool of threads of its own, which is shut down
+ * as soon as they've all been checked (the common fork-join pool isn't used, as the application
+ * may rely on it while starting). Every violation is collected before failing, so that they can
+ * all be fixed at once.</p>
+ *
+ * <p>Setting {@code boot.repository-validation.index} to a file path records which repositories
+ * passed, so that later starts with the same classpath and rules skip them.</p>
+ */
+public class RepositoryValidator implements BeanFactoryPostProcessor, EnvironmentAware {
+    public static final String INDEX_PROPERTY = "boot.repository-validation.index";
+    public static final String SEVERITY_PREFIX = "boot.repository-validation.severity.";
+    private static final String JPA_QUERY_HINTS = "org.springframework.data.jpa.repository.QueryHints";
+    private static final Logger LOG = LoggerFactory.getLogger(RepositoryValidator.class);
+
+    private Environment environment;
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        Map<RepositoryRule, RepositoryRuleSeverity> severities = new LinkedHashMap<>();
+        for (RepositoryRule rule : getRules(beanFactory)) {
+            RepositoryRuleSeverity severity = getSeverity(rule);
+            if (severity != RepositoryRuleSeverity.OFF) {
+                severities.put(rule, severity);
+            }
+        }
+        Set<RepositoryRule> rules = severities.keySet();
+
+        Set<Class<?>> repositories = findRepositoryInterfaces(beanFactory);
+        String indexLocation = environment != null ? environment.getProperty(INDEX_PROPERTY) : null;
+        Path index = StringUtils.hasText(indexLocation) ? Paths.get(indexLocation) : null;
+        ClasspathFingerprint classpath = index != null
+                ? ClasspathFingerprint.of(beanFactory.getBeanClassLoader()) : null;
+        String fingerprint = classpath != null ? classpath.getValue() : null;
+        Set<String> alreadyValid = Collections.emptySet();
+        if (fingerprint != null) {
+            RepositoryValidationIndex existing = RepositoryValidationIndex.load(index);
+            if (existing != null && existing.isCurrent(fingerprint, rules)) {
+                alreadyValid = existing.getValid();
+            }
+        }
+
+        Set<String> skip = alreadyValid;
+        List<RepositoryViolation> violations = checkAll(repositories.stream()
+                .filter(repository -> !skip.contains(repository.getName()))
+                .collect(Collectors.toList()), rules);
+
+        if (fingerprint != null) {
+            Set<String> valid = new TreeSet<>();
+            repositories.forEach(repository -> valid.add(repository.getName()));
+            // Repositories with warnings are re-checked on every start, so that the warnings are repeated
+            violations.forEach(violation -> valid.remove(violation.getRepositoryInterface().getName()));
+            Set<String> ruleNames = rules.stream().map(rule -> rule.getClass().getName())
+                    .collect(Collectors.toCollection(TreeSet::new));
+            try {
+                new RepositoryValidationIndex(fingerprint, ruleNames, valid).store(index);
+            } catch (IOException e) {
+                LOG.warn("Failed to write repository validation index to {}", index, e);
+            }
+        }
+
+        List<RepositoryViolation> failures = new ArrayList<>();
+        for (RepositoryViolation violation : violations) {
+            if (severities.get(violation.getRule()) == RepositoryRuleSeverity.FAIL) {
+                failures.add(violation);
+            } else {
+                LOG.warn("Repository validation warning: {}", violation);
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException(failures.size() + " repository validation failure(s):\n    "
+                    + failures.stream().map(RepositoryViolation::toString).collect(Collectors.joining("\n    ")));
+        }
+    }
+
+    private List<RepositoryRule> getRules(ConfigurableListableBeanFactory beanFactory) {
+        List<RepositoryRule> rules = new ArrayList<>();
+        rules.add(new TransactionalRepositoryRule());
+        if (ClassUtils.isPresent(JPA_QUERY_HINTS, beanFactory.getBeanClassLoader())) {
+            rules.add(new UnpagedFindAllRule());
+            rules.add(new QueryFetchSizeRule());
+            rules.add(new ReadOnlyRepositoryRule());
+            rules.add(new BatchableIdGenerationRule());
+        }
+        rules.addAll(SpringFactoriesLoader.loadFactories(RepositoryRule.class, beanFactory.getBeanClassLoader()));
+        // Getting these would instantiate them, and their dependencies, far too early
+        for (String beanName : beanFactory.getBeanNamesForType(RepositoryRule.class, false, false)) {
+            LOG.warn("Ignoring repository rule bean '{}'; rules must be listed in META-INF/spring.factories",
+                    beanName);
+        }
+        return rules;
+    }
+
+    private RepositoryRuleSeverity getSeverity(RepositoryRule rule) {
+        String property = SEVERITY_PREFIX + rule.getName();
+        String severity = environment != null ? environment.getProperty(property) : null;
+        if (!StringUtils.hasText(severity)) {
+            return rule.getDefaultSeverity();
+        }
+        try {
+            return RepositoryRuleSeverity.valueOf(severity.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid value '" + severity + "' for " + property + "; expected one of "
+                    + StringUtils.arrayToCommaDelimitedString(RepositoryRuleSeverity.values()).toLowerCase(Locale.ROOT),
+                    e);
+        }
+    }
+
+    private List<RepositoryViolation> checkAll(List<Class<?>> repositories, Collection<RepositoryRule> rules) {
+        int threads = Math.min(repositories.size(), Runtime.getRuntime().availableProcessors());
+        if (threads <= 1) {
+            return repositories.stream()
+                    .flatMap(repository -> check(repository, rules).stream())
+                    .collect(Collectors.toList());
+        }
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("repository-validation-");
+        threadFactory.setDaemon(true);
+        ExecutorService executor = Executors.newFixedThreadPool(threads, threadFactory);
+        try {
+            List<Future<List<RepositoryViolation>>> results = new ArrayList<>(repositories.size());
+            for (Class<?> repository : repositories) {
+                results.add(executor.submit(() -> check(repository, rules)));
+            }
+            List<RepositoryViolation> violations = new ArrayList<>();
+            for (Future<List<RepositoryViolation>> result : results) {
+                violations.addAll(result.get());
+            }
+            return violations;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause
+                    : new IllegalStateException("Repository validation failed", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while validating repositories", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<RepositoryViolation> check(Class<?> repository, Collection<RepositoryRule> rules) {
+        SuppressRepositoryRules suppressed = AnnotationUtils.findAnnotation(repository, SuppressRepositoryRules.class);
+        Set<String> suppressedNames = suppressed != null
+                ? new HashSet<>(Arrays.asList(suppressed.value())) : Collections.emptySet();
+        List<RepositoryViolation> violations = new ArrayList<>();
+        for (RepositoryRule rule : rules) {
+            if (suppressedNames.contains(rule.getName())) {
+                continue;
+            }
+            rule.check(repository, message -> violations.add(new RepositoryViolation(rule, repository, message)));
+        }
+        return violations;
+    }
+
+    private Set<Class<?>> findRepositoryInterfaces(ConfigurableListableBeanFactory beanFactory) {
+        ClassLoader classLoader = beanFactory.getBeanClassLoader();
+        Set<Class<?>> repositories = new LinkedHashSet<>();
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+            String beanClassName = definition.getBeanClassName();
+            if (beanClassName == null || !ClassUtils.isPresent(beanClassName, classLoader)
+                    || !RepositoryFactoryBeanSupport.class.isAssignableFrom(
+                            ClassUtils.resolveClassName(beanClassName, classLoader))) {
+                continue;
+            }
+            // Spring Data passes the repository interface as the factory bean's first constructor argument
+            ValueHolder argument = definition.getConstructorArgumentValues().getIndexedArgumentValue(0, null);
+            Object value = argument != null ? argument.getValue() : null;
+            if (value instanceof Class) {
+                repositories.add((Class<?>) value);
+            } else if (value instanceof String) {
+                repositories.add(ClassUtils.resolveClassName((String) value, classLoader));
+            }
+        }
+        return repositories;
+    }
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+}
@@ -0,0 +1,33 @@
+package com.treatwell.roundabout.utils.config;
+
+/**
+ * A problem found with a repository interface by a {@link RepositoryRule}.
+ */
+public class RepositoryViolation {
+    private final RepositoryRule rule;
+    private final Class<?> repositoryInterface;
+    private final String message;
+
+    public RepositoryViolation(RepositoryRule rule, Class<?> repositoryInterface, String message) {
+        this.rule = rule;
+        this.repositoryInterface = repositoryInterface;
+        this.message = message;
+    }
+
+    public RepositoryRule getRule() {
+        return rule;
+    }
+
+    public Class<?> getRepositoryInterface() {
+        return repositoryInterface;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return repositoryInterface.getSimpleName() + ": " + message + " [" + rule.getName() + "]";
+    }
+}
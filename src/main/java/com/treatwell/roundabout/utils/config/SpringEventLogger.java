@@ -1,28 +1,234 @@
 package com.treatwell.roundabout.utils.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.ApplicationContextInitializer;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.StringUtils;
 
 /**
  * Logs out every Spring {@link ApplicationEvent} received, so easily see the lifecycle of all such
  * events.
+ *
+ * <p>To keep this cheap enough to leave on in production, the following properties control
+ * which events are logged, and how:</p>
+ * <ul>
+ * <li>{@code boot.event-logger.enabled=false}: don't listen to events at all, e.g. in batch jobs
+ * and command line tools.</li>
+ * <li>{@code boot.event-logger.include} / {@code boot.event-logger.exclude}: comma-separated event
+ * types, either as (simple or fully-qualified) class names, or as
+ * {@code PayloadApplicationEvent<PayloadType>} for payload events.</li>
+ * <li>{@code boot.event-logger.sample-rate}: only log one in every N events of each type.</li>
+ * <li>{@code boot.event-logger.rate-limit}: log at most N events of each type per second.</li>
+ * <li>{@code boot.event-logger.async=true}: only enqueue events on the publishing thread, and
+ * format and log them in batches on a background thread. Events are dropped rather than block
+ * when {@code boot.event-logger.queue-capacity} is reached, and the background thread warns of
+ * how many were dropped, at most once every 10 seconds.</li>
+ * <li>{@code boot.event-logger.summary-interval}: periodically log how many events of each type
+ * were received, regardless of how many were logged.</li>
+ * </ul>
  */
 public class SpringEventLogger implements ApplicationContextInitializer<ConfigurableApplicationContext>,
         ApplicationListener<ApplicationEvent> {
+    public static final String PREFIX = "boot.event-logger.";
 
     private static final Logger LOG = LoggerFactory.getLogger(SpringEventLogger.class);
+    private static final int BATCH_SIZE = 256;
+    private static final long DROPPED_WARNING_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+
+    private final ConcurrentMap<Class<?>, EventType> eventTypes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, EventType> payloadTypes = new ConcurrentHashMap<>();
+
+    private Set<String> includes = Collections.emptySet();
+    private Set<String> excludes = Collections.emptySet();
+    private long sampleRate = 1;
+    private long rateLimit = 0;
+    private BlockingQueue<ApplicationEvent> queue;
+    private final LongAdder dropped = new LongAdder();
+    private Thread writer;
+    private ScheduledExecutorService summaries;
+    private ConfigurableApplicationContext applicationContext;
 
     @Override
     public void initialize(ConfigurableApplicationContext applicationContext) {
+        Environment environment = applicationContext.getEnvironment();
+        if (!environment.getProperty(PREFIX + "enabled", Boolean.class, true)) {
+            // Not even registered as a listener, so that events cost nothing to dispatch
+            return;
+        }
+        this.applicationContext = applicationContext;
+        includes = StringUtils.commaDelimitedListToSet(environment.getProperty(PREFIX + "include", ""));
+        excludes = StringUtils.commaDelimitedListToSet(environment.getProperty(PREFIX + "exclude", ""));
+        sampleRate = Math.max(1, environment.getProperty(PREFIX + "sample-rate", Long.class, 1L));
+        rateLimit = environment.getProperty(PREFIX + "rate-limit", Long.class, 0L);
+        if (environment.getProperty(PREFIX + "async", Boolean.class, false)) {
+            queue = new ArrayBlockingQueue<>(environment.getProperty(PREFIX + "queue-capacity", Integer.class, 1024));
+            writer = new CustomizableThreadFactory("event-logger-").newThread(this::writeLoop);
+            writer.setDaemon(true);
+            writer.start();
+        }
+        Duration summaryInterval = Binder.get(environment)
+                .bind(PREFIX + "summary-interval", Duration.class)
+                .orElse(Duration.ZERO);
+        if (!summaryInterval.isZero()) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("event-logger-summary-");
+            threadFactory.setDaemon(true);
+            summaries = Executors.newSingleThreadScheduledExecutor(threadFactory);
+            summaries.scheduleAtFixedRate(this::logSummary, summaryInterval.toMillis(), summaryInterval.toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
         applicationContext.addApplicationListener(this);
     }
 
     @Override
     public void onApplicationEvent(ApplicationEvent event) {
-        LOG.info("Received event {}: {}", event.getClass().getSimpleName(), event);
+        EventType type = typeOf(event);
+        type.received.increment();
+        if (type.shouldLog(sampleRate, rateLimit)) {
+            if (queue == null) {
+                log(event, type);
+            } else if (!queue.offer(event)) {
+                dropped.increment();
+            }
+        }
+        // Child contexts (e.g. the management context) publish their closing to this one too
+        if (event instanceof ContextClosedEvent
+                && ((ContextClosedEvent) event).getApplicationContext() == applicationContext) {
+            shutdown();
+        }
+    }
+
+    private EventType typeOf(ApplicationEvent event) {
+        if (event instanceof PayloadApplicationEvent) {
+            Object payload = ((PayloadApplicationEvent<?>) event).getPayload();
+            return payloadTypes.computeIfAbsent(payload.getClass(), payloadClass -> new EventType(
+                    "PayloadApplicationEvent<" + payloadClass.getSimpleName() + ">",
+                    "PayloadApplicationEvent<" + payloadClass.getName() + ">"));
+        }
+        return eventTypes.computeIfAbsent(event.getClass(),
+                eventClass -> new EventType(eventClass.getSimpleName(), eventClass.getName()));
+    }
+
+    private void log(ApplicationEvent event, EventType type) {
+        LOG.info("Received event {}: {}", type.name, event);
+    }
+
+    private void writeLoop() {
+        List<ApplicationEvent> batch = new ArrayList<>(BATCH_SIZE);
+        long lastDroppedWarning = System.nanoTime() - DROPPED_WARNING_INTERVAL;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                batch.add(queue.take());
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                writeBatch(batch);
+                // Events are only dropped while the queue is full, i.e. while this loop is busy,
+                // so checking after each batch is enough to notice them
+                long now = System.nanoTime();
+                if (now - lastDroppedWarning >= DROPPED_WARNING_INTERVAL && warnDropped()) {
+                    lastDroppedWarning = now;
+                }
+            }
+        } catch (InterruptedException e) {
+            // Shutting down; flush whatever is left below
+        }
+        queue.drainTo(batch);
+        writeBatch(batch);
+        warnDropped();
+    }
+
+    private boolean warnDropped() {
+        long droppedCount = dropped.sumThenReset();
+        if (droppedCount > 0) {
+            LOG.warn("Dropped {} events from the log queue, which is full", droppedCount);
+            return true;
+        }
+        return false;
+    }
+
+    private void writeBatch(List<ApplicationEvent> batch) {
+        for (ApplicationEvent event : batch) {
+            log(event, typeOf(event));
+        }
+        batch.clear();
+    }
+
+    private void logSummary() {
+        Map<String, Long> counts = new TreeMap<>();
+        eventTypes.values().forEach(type -> counts.put(type.name, type.received.sumThenReset()));
+        payloadTypes.values().forEach(type -> counts.put(type.name, type.received.sumThenReset()));
+        String summary = counts.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .map(entry -> entry.getKey() + "=" + entry.getValue())
+                .collect(Collectors.joining(", ", "[", "]"));
+        LOG.info("Received events since last summary: {}", summary);
+    }
+
+    private synchronized void shutdown() {
+        if (writer != null) {
+            writer.interrupt();
+            writer = null;
+        }
+        if (summaries != null) {
+            summaries.shutdown();
+            summaries = null;
+        }
+    }
+
+    private final class EventType {
+        private final String name;
+        private final boolean enabled;
+        private final LongAdder received = new LongAdder();
+        private final AtomicLong sequence = new AtomicLong();
+        private final AtomicLong window = new AtomicLong();
+        private final AtomicLong windowCount = new AtomicLong();
+
+        private EventType(String name, String qualifiedName) {
+            this.name = name;
+            this.enabled = (includes.isEmpty() || includes.contains(name) || includes.contains(qualifiedName))
+                    && !excludes.contains(name) && !excludes.contains(qualifiedName);
+        }
+
+        boolean shouldLog(long sampleRate, long rateLimit) {
+            if (!enabled) {
+                return false;
+            }
+            if (sampleRate > 1 && sequence.getAndIncrement() % sampleRate != 0) {
+                return false;
+            }
+            if (rateLimit > 0) {
+                long second = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+                long current = window.get();
+                if (current != second && window.compareAndSet(current, second)) {
+                    windowCount.set(0);
+                }
+                return windowCount.incrementAndGet() <= rateLimit;
+            }
+            return true;
+        }
     }
 }
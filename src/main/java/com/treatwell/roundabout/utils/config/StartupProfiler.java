@@ -0,0 +1,349 @@
+package com.treatwell.roundabout.utils.config;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ApplicationEventMulticaster;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.support.SpringFactoriesLoader;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Initializer which profiles where application startup time goes. Note that this doesn't need
+ * to be manually instantiated as it will be automatically picked up by Spring Boot via the
+ * <code>META-INF/spring.factories</code> file in this module, but does nothing unless enabled by
+ * setting
+ * <pre>
+ * <code>
+ * boot.startup-profiler.enabled=true
+ * </code>
+ * </pre>
+ *
+ * <p>Once enabled, it timestamps every {@link ApplicationEvent} and times the creation of every
+ * bean, both including and excluding the beans it depends on (its "self" time), split into
+ * instantiation and initialization. Beans declared by an auto-configuration are attributed to
+ * it, giving the cost of each auto-configuration class.</p>
+ *
+ * <p>On {@link ApplicationReadyEvent}, the slowest {@code boot.startup-profiler.top} beans and
+ * auto-configurations are logged, and if {@code boot.startup-profiler.trace-file} is set, the
+ * whole timeline is written there in Chrome trace format (viewable in {@code chrome://tracing}).
+ * The profiler then stops listening, and everything it recorded is released, so that beans and
+ * events after startup (e.g. prototype or request-scoped beans) don't accumulate forever.</p>
+ */
+public class StartupProfiler implements ApplicationContextInitializer<ConfigurableApplicationContext>,
+        ApplicationListener<ApplicationEvent> {
+    public static final String ENABLED_PROPERTY = "boot.startup-profiler.enabled";
+    public static final String TOP_PROPERTY = "boot.startup-profiler.top";
+    public static final String TRACE_FILE_PROPERTY = "boot.startup-profiler.trace-file";
+    private static final Logger LOG = LoggerFactory.getLogger(StartupProfiler.class);
+
+    private final long origin = System.nanoTime();
+    private final Queue<EventTiming> events = new ConcurrentLinkedQueue<>();
+    private final Queue<BeanTiming> beans = new ConcurrentLinkedQueue<>();
+    private ConfigurableApplicationContext applicationContext;
+    private volatile boolean reported;
+
+    @Override
+    public void initialize(ConfigurableApplicationContext applicationContext) {
+        if (!applicationContext.getEnvironment().getProperty(ENABLED_PROPERTY, Boolean.class, false)) {
+            return;
+        }
+        this.applicationContext = applicationContext;
+        applicationContext.addApplicationListener(this);
+        applicationContext.addBeanFactoryPostProcessor(
+                beanFactory -> beanFactory.addBeanPostProcessor(new BeanTimingPostProcessor(beanFactory)));
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationEvent event) {
+        if (reported) {
+            return;
+        }
+        events.add(new EventTiming(event.getClass().getSimpleName(), System.nanoTime() - origin));
+        if (event instanceof ApplicationReadyEvent && !reported
+                && ((ApplicationReadyEvent) event).getApplicationContext() == applicationContext) {
+            reported = true;
+            report(applicationContext.getEnvironment());
+            events.clear();
+            beans.clear();
+            removeListener();
+        }
+    }
+
+    private void removeListener() {
+        // The bean post-processor can't be removed, but stops recording once reported is set
+        if (applicationContext.containsLocalBean(AbstractApplicationContext.APPLICATION_EVENT_MULTICASTER_BEAN_NAME)) {
+            applicationContext.getBean(AbstractApplicationContext.APPLICATION_EVENT_MULTICASTER_BEAN_NAME,
+                    ApplicationEventMulticaster.class).removeApplicationListener(this);
+        }
+    }
+
+    private void report(Environment environment) {
+        int top = environment.getProperty(TOP_PROPERTY, Integer.class, 20);
+        LOG.info(getReport(top));
+        String traceFile = environment.getProperty(TRACE_FILE_PROPERTY);
+        if (StringUtils.hasText(traceFile)) {
+            try (Writer writer = Files.newBufferedWriter(Paths.get(traceFile), StandardCharsets.UTF_8)) {
+                writeChromeTrace(writer);
+                LOG.info("Startup trace written to {}", traceFile);
+            } catch (IOException e) {
+                LOG.warn("Failed to write startup trace to {}", traceFile, e);
+            }
+        }
+    }
+
+    private String getReport(int top) {
+        long jvmUptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        StringBuilder message = new StringBuilder()
+                .append("\n")
+                .append("======================\n")
+                .append("STARTUP PROFILE REPORT\n")
+                .append("======================\n")
+                .append("\n")
+                .append("JVM uptime: ").append(jvmUptime).append("ms\n");
+
+        message.append("\n")
+                .append("Lifecycle events (ms since context initialization):\n")
+                .append("--------------------------------------------------\n");
+        for (EventTiming event : events) {
+            message.append(String.format("   %8.1f  %s%n", millis(event.offset), event.name));
+        }
+
+        List<BeanTiming> slowest = new ArrayList<>(beans);
+        slowest.sort(Comparator.comparingLong((BeanTiming timing) -> timing.self).reversed());
+        message.append("\n")
+                .append("Slowest beans (self / total / instantiation / initialization, ms):\n")
+                .append("------------------------------------------------------------------\n");
+        slowest.stream().limit(top).forEach(timing -> message.append(String.format(
+                "   %8.1f %8.1f %8.1f %8.1f  %s%n", millis(timing.self), millis(timing.total),
+                millis(timing.instantiation), millis(timing.initialization), timing.name)));
+
+        Map<String, Long> byConfiguration = new LinkedHashMap<>();
+        for (BeanTiming timing : beans) {
+            if (timing.autoConfiguration != null) {
+                byConfiguration.merge(timing.autoConfiguration, timing.self, Long::sum);
+            }
+        }
+        message.append("\n")
+                .append("Slowest auto-configurations (self time of their beans, ms):\n")
+                .append("-----------------------------------------------------------\n");
+        byConfiguration.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(top)
+                .forEach(entry -> message.append(String.format("   %8.1f  %s%n", millis(entry.getValue()),
+                        entry.getKey())));
+        return message.toString();
+    }
+
+    private void writeChromeTrace(Writer writer) throws IOException {
+        writer.write("{\"traceEvents\":[\n");
+        boolean first = true;
+        for (EventTiming event : events) {
+            first = writeTraceEvent(writer, first, "{\"name\":\"" + escape(event.name)
+                    + "\",\"cat\":\"event\",\"ph\":\"i\",\"s\":\"g\",\"pid\":1,\"tid\":0,\"ts\":"
+                    + micros(event.offset) + "}");
+        }
+        for (BeanTiming timing : beans) {
+            first = writeTraceEvent(writer, first, "{\"name\":\"" + escape(timing.name)
+                    + "\",\"cat\":\"bean\",\"ph\":\"X\",\"pid\":1,\"tid\":" + timing.thread
+                    + ",\"ts\":" + micros(timing.start) + ",\"dur\":" + micros(timing.total)
+                    + ",\"args\":{\"selfUs\":" + micros(timing.self)
+                    + (timing.autoConfiguration != null
+                            ? ",\"autoConfiguration\":\"" + escape(timing.autoConfiguration) + "\"" : "")
+                    + "}}");
+        }
+        writer.write("\n]}\n");
+    }
+
+    private static boolean writeTraceEvent(Writer writer, boolean first, String json) throws IOException {
+        if (!first) {
+            writer.write(",\n");
+        }
+        writer.write(json);
+        return false;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    private static final class EventTiming {
+        private final String name;
+        private final long offset;
+
+        private EventTiming(String name, long offset) {
+            this.name = name;
+            this.offset = offset;
+        }
+    }
+
+    private static final class BeanTiming {
+        private final String name;
+        private final String autoConfiguration;
+        private final long thread;
+        private final long start;
+        private final long total;
+        private final long self;
+        private final long instantiation;
+        private final long initialization;
+
+        private BeanTiming(Frame frame, long end, String autoConfiguration) {
+            this.name = frame.beanName;
+            this.autoConfiguration = autoConfiguration;
+            this.thread = Thread.currentThread().getId();
+            this.start = frame.start;
+            this.total = end - frame.start;
+            this.self = total - frame.children;
+            this.instantiation = frame.instantiated > 0 ? frame.instantiated - frame.start : 0;
+            this.initialization = frame.initializing > 0 ? end - frame.initializing : 0;
+        }
+    }
+
+    private static final class Frame {
+        private final String beanName;
+        private final long start;
+        private long instantiated;
+        private long initializing;
+        private long children;
+
+        private Frame(String beanName, long start) {
+            this.beanName = beanName;
+            this.start = start;
+        }
+    }
+
+    /**
+     * Times bean creation from just before instantiation to just after initialization, keeping a
+     * per-thread stack of the beans being created so that time spent creating dependencies can be
+     * excluded from the dependent bean's self time.
+     *
+     * <p>This is registered ahead of all other post-processors, so its after-initialization
+     * callback runs before those of e.g. proxy-creating post-processors, whose cost is therefore
+     * attributed to the enclosing bean (if any).</p>
+     */
+    private class BeanTimingPostProcessor implements InstantiationAwareBeanPostProcessor {
+        private final ThreadLocal<Deque<Frame>> stack = ThreadLocal.withInitial(ArrayDeque::new);
+        private final ConfigurableListableBeanFactory beanFactory;
+        private final Set<String> autoConfigurations;
+
+        BeanTimingPostProcessor(ConfigurableListableBeanFactory beanFactory) {
+            this.beanFactory = beanFactory;
+            this.autoConfigurations = new HashSet<>(SpringFactoriesLoader.loadFactoryNames(
+                    EnableAutoConfiguration.class, beanFactory.getBeanClassLoader()));
+        }
+
+        @Override
+        public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) throws BeansException {
+            if (reported) {
+                return null;
+            }
+            stack.get().push(new Frame(beanName, System.nanoTime() - origin));
+            return null;
+        }
+
+        @Override
+        public boolean postProcessAfterInstantiation(Object bean, String beanName) throws BeansException {
+            Frame frame = stack.get().peek();
+            if (frame != null && frame.beanName.equals(beanName)) {
+                frame.instantiated = System.nanoTime() - origin;
+            }
+            return true;
+        }
+
+        @Override
+        public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+            Frame frame = stack.get().peek();
+            if (frame != null && frame.beanName.equals(beanName)) {
+                frame.initializing = System.nanoTime() - origin;
+            }
+            return bean;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+            Deque<Frame> frames = stack.get();
+            // Objects produced by FactoryBeans are post-processed without having been instantiated
+            // by the container, so only pop if this bean is actually on the stack. Frames above it
+            // belong to beans whose creation failed, and are discarded.
+            if (frames.isEmpty() || frames.stream().noneMatch(frame -> frame.beanName.equals(beanName))) {
+                return bean;
+            }
+            Frame frame;
+            do {
+                frame = frames.pop();
+            } while (!frame.beanName.equals(beanName));
+
+            long end = System.nanoTime() - origin;
+            BeanTiming timing = new BeanTiming(frame, end, autoConfigurationOf(beanName));
+            beans.add(timing);
+            Frame parent = frames.peek();
+            if (parent != null) {
+                parent.children += timing.total;
+            }
+            return bean;
+        }
+
+        private String autoConfigurationOf(String beanName) {
+            if (!beanFactory.containsBeanDefinition(beanName)) {
+                return null;
+            }
+            BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+            String beanClass = userClassName(definition.getBeanClassName());
+            if (autoConfigurations.contains(beanClass)) {
+                return beanClass;
+            }
+            String factoryBeanName = definition.getFactoryBeanName();
+            if (factoryBeanName != null && beanFactory.containsBeanDefinition(factoryBeanName)) {
+                String factoryClass = userClassName(beanFactory.getBeanDefinition(factoryBeanName).getBeanClassName());
+                if (autoConfigurations.contains(factoryClass)) {
+                    return factoryClass;
+                }
+            }
+            return null;
+        }
+
+        private String userClassName(String className) {
+            // @Configuration classes have been replaced by their CGLIB-enhanced subclasses by now
+            int index = className != null ? className.indexOf(ClassUtils.CGLIB_CLASS_SEPARATOR) : -1;
+            return index > 0 ? className.substring(0, index) : className;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.treatwell.roundabout.utils.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Exempts a repository interface (and any interface extending it) from the named
+ * {@link RepositoryRule}s, e.g. {@code @SuppressRepositoryRules("unpaged-find-all")} on a
+ * repository of a table known to stay small. Unlike
+ * {@code boot.repository-validation.severity.<name>=off}, every other repository is still checked.
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface SuppressRepositoryRules {
+
+    /**
+     * The names of the rules not to apply, as given by {@link RepositoryRule#getName()}.
+     */
+    String[] value();
+}
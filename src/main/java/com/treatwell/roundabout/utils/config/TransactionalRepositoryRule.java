@@ -0,0 +1,29 @@
+package com.treatwell.roundabout.utils.config;
+
+import java.util.function.Consumer;
+
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.repository.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+/**
+ * Example rule that enforces that all {@link Repository} classes have a non-blank
+ * @{@link Transactional} annotation declared on them, naming the transaction manager to use.
+ */
+public class TransactionalRepositoryRule implements RepositoryRule {
+
+    @Override
+    public String getName() {
+        return "transactional";
+    }
+
+    @Override
+    public void check(Class<?> repositoryInterface, Consumer<String> violations) {
+        // Do we have a Transactional annotation on the Repository?
+        Transactional transactionAnno = AnnotationUtils.findAnnotation(repositoryInterface, Transactional.class);
+        if (transactionAnno == null || StringUtils.isEmpty(transactionAnno.value())) {
+            violations.accept("instance must be configured with an @Transactional annotation");
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.treatwell.roundabout.utils.config;
+
+import java.lang.reflect.Method;
+import java.util.function.Consumer;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
+
+import com.treatwell.roundabout.utils.repository.BulkOperationsRepository;
+
+/**
+ * Flags repositories which expose a {@code findAll()} without arguments, as calling it on a large
+ * table loads every row into memory at once. That includes every {@link CrudRepository}, and
+ * so {@link PagingAndSortingRepository} and {@link JpaRepository} too: offering a paged
+ * alternative doesn't stop callers from using the unpaged one.
+ *
+ * <p>A {@link BulkOperationsRepository} isn't flagged, as it offers constant-memory streaming
+ * and keyset paging in its place. Repositories of tables known to stay small can opt out with
+ * {@link SuppressRepositoryRules @SuppressRepositoryRules("unpaged-find-all")}.</p>
+ */
+public class UnpagedFindAllRule implements RepositoryRule {
+
+    @Override
+    public String getName() {
+        return "unpaged-find-all";
+    }
+
+    @Override
+    public RepositoryRuleSeverity getDefaultSeverity() {
+        return RepositoryRuleSeverity.WARN;
+    }
+
+    @Override
+    public void check(Class<?> repositoryInterface, Consumer<String> violations) {
+        if (BulkOperationsRepository.class.isAssignableFrom(repositoryInterface)) {
+            return;
+        }
+        for (Method method : repositoryInterface.getMethods()) {
+            if ("findAll".equals(method.getName()) && method.getParameterCount() == 0) {
+                violations.accept("exposes findAll() without paging; extend BulkOperationsRepository to stream"
+                        + " or page through large tables instead");
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.treatwell.roundabout.utils.health;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limiter whose limit adapts to observed latency, using additive-increase,
+ * multiplicative-decrease: requests taking longer than a tolerated multiple of the lowest
+ * recent latency reduce the limit by a ratio, whereas each fast request completing while the
+ * limit is at least half used raises it by one. Queueing inside the application therefore
+ * pushes the limit down to what the application can actually serve without it.
+ *
+ * <p>The lowest latency is taken over the current and previous windows only, so that the
+ * baseline follows the application when it gets slower for good (e.g. a bigger data set), rather
+ * than every request being judged against a single lucky sample forever. The limit is reduced
+ * at most once per window, as many slow requests in a burst are evidence of a single
+ * overload, which should reduce the limit once rather than collapse it to the minimum.</p>
+ *
+ * <p>Admission is a compare-and-set on the in-flight count; only the limit's adaptation is
+ * synchronized.</p>
+ */
+public class AdaptiveConcurrencyLimiter {
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final double backoffRatio;
+    private final long windowNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+    private long windowStart = System.nanoTime();
+    private long minLatency = Long.MAX_VALUE;
+    private long previousMinLatency = Long.MAX_VALUE;
+    private boolean decreasedInWindow;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double latencyTolerance,
+            double backoffRatio, Duration window) {
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTolerance = latencyTolerance;
+        this.backoffRatio = backoffRatio;
+        this.windowNanos = window.toNanos();
+        this.limit = initialLimit;
+    }
+
+    /**
+     * @return whether the request may proceed, in which case {@link #release(long)} must be
+     * called once it completes.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long latencyNanos) {
+        int current = inFlight.getAndDecrement();
+        adapt(latencyNanos, current);
+    }
+
+    private synchronized void adapt(long latencyNanos, int concurrency) {
+        long now = System.nanoTime();
+        long elapsedWindows = (now - windowStart) / windowNanos;
+        if (elapsedWindows > 0) {
+            previousMinLatency = elapsedWindows == 1 ? minLatency : Long.MAX_VALUE;
+            minLatency = Long.MAX_VALUE;
+            windowStart += elapsedWindows * windowNanos;
+            decreasedInWindow = false;
+        }
+        if (latencyNanos < minLatency) {
+            minLatency = latencyNanos;
+        }
+        long baseline = Math.min(minLatency, previousMinLatency);
+        if (latencyNanos > baseline * latencyTolerance) {
+            if (!decreasedInWindow) {
+                limit = Math.max(minLimit, (int) (limit * backoffRatio));
+                decreasedInWindow = true;
+            }
+        } else if (concurrency * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    /**
+     * Restores the initial limit, and forgets the latencies seen, so that the limit is learnt
+     * afresh from the latencies seen from now on.
+     */
+    public synchronized void reset() {
+        limit = initialLimit;
+        windowStart = System.nanoTime();
+        minLatency = Long.MAX_VALUE;
+        previousMinLatency = Long.MAX_VALUE;
+        decreasedInWindow = false;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
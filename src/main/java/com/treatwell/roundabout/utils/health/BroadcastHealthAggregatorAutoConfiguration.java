@@ -1,8 +1,9 @@
 package com.treatwell.roundabout.utils.health;
 
+import java.util.List;
+
 import org.springframework.boot.actuate.autoconfigure.health.HealthIndicatorProperties;
 import org.springframework.boot.actuate.health.HealthIndicator;
-import org.springframework.boot.actuate.health.OrderedHealthAggregator;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -12,25 +13,43 @@ import org.springframework.context.annotation.Configuration;
  * Configures a {@link BroadcastingHealthAggregator} which will broadcast the current
  * state as an {@link ApplicationHealthEvent} across the Spring event bus
  * upon every health check.
+ *
+ * <p>Setting {@code roundabout.health.events.dispatch=async} moves that broadcast off
+ * the health-checking thread, and {@code roundabout.health.events.transition-threshold} sets
+ * how many consecutive checks must agree before a {@link HealthTransitionEvent} is published.</p>
+ *
+ * <p>The underlying aggregation is done by an {@link IncrementalHealthAggregator}. Unless
+ * {@code management.health.status.order} is set, it orders statuses as
+ * {@link IncrementalHealthAggregator#DEFAULT_ORDER}.</p>
  */
 @Configuration
 @ConditionalOnClass(HealthIndicator.class)
-@EnableConfigurationProperties(HealthIndicatorProperties.class)
+@EnableConfigurationProperties({ HealthIndicatorProperties.class, HealthEventProperties.class })
 public class BroadcastHealthAggregatorAutoConfiguration {
 
     private final HealthIndicatorProperties properties;
+    private final HealthEventProperties eventProperties;
 
-    public BroadcastHealthAggregatorAutoConfiguration(HealthIndicatorProperties properties) {
+    public BroadcastHealthAggregatorAutoConfiguration(HealthIndicatorProperties properties,
+            HealthEventProperties eventProperties) {
         this.properties = properties;
+        this.eventProperties = eventProperties;
     }
 
     @Bean
     public BroadcastingHealthAggregator healthAggregator() {
-        OrderedHealthAggregator healthAggregator = new OrderedHealthAggregator();
-        if (this.properties.getOrder() != null) {
-            healthAggregator.setStatusOrder(this.properties.getOrder());
-        }
-        return new BroadcastingHealthAggregator(healthAggregator);
+        return new BroadcastingHealthAggregator(new IncrementalHealthAggregator(getStatusOrder()),
+                eventProperties.getDispatch() == HealthEventProperties.Dispatch.ASYNC,
+                eventProperties.getTransitionThreshold());
+    }
+
+    /**
+     * @return the configured status order, else the default one (as statuses missing from the
+     * order are ignored, a DEGRADED status would otherwise be lost).
+     */
+    private List<String> getStatusOrder() {
+        return this.properties.getOrder() != null ? this.properties.getOrder()
+                : IncrementalHealthAggregator.DEFAULT_ORDER;
     }
 
     @Bean
@@ -2,6 +2,7 @@ package com.treatwell.roundabout.utils.health;
 
 import java.util.Map;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthAggregator;
 import org.springframework.context.ApplicationEventPublisher;
@@ -11,26 +12,71 @@ import org.springframework.context.ApplicationEventPublisherAware;
  * Whenever a health-check is executed, this aggregator will aggregate as normal, but also broadcast
  * the result to the Spring {@link ApplicationEventPublisher} system so that other components can react
  * to the application (or components of it) becoming unhealthy.
+ *
+ * <p>When created as asynchronous, the broadcast happens on a background thread through a
+ * {@link CoalescingDispatcher}, so health checks never block on listeners, and listeners which
+ * can't keep up only see the latest result.</p>
+ *
+ * <p>In addition, a {@link HealthTransitionEvent} is broadcast whenever the result differs from
+ * the previous one, as determined by a {@link HealthTransitionDetector}. Transitions are published
+ * while holding a lock, so that when health checks run concurrently listeners still receive them in
+ * the order in which they were detected.</p>
  */
-public class BroadcastingHealthAggregator implements HealthAggregator, ApplicationEventPublisherAware {
+public class BroadcastingHealthAggregator implements HealthAggregator, ApplicationEventPublisherAware,
+        DisposableBean {
     private final HealthAggregator underlying;
+    private final CoalescingDispatcher<Health> dispatcher;
+    private final HealthTransitionDetector transitionDetector;
+    private final Object transitionLock = new Object();
     private ApplicationEventPublisher applicationEventPublisher;
 
     public BroadcastingHealthAggregator(HealthAggregator underlying) {
+        this(underlying, false);
+    }
+
+    public BroadcastingHealthAggregator(HealthAggregator underlying, boolean asynchronous) {
+        this(underlying, asynchronous, 1);
+    }
+
+    public BroadcastingHealthAggregator(HealthAggregator underlying, boolean asynchronous,
+            int transitionThreshold) {
         this.underlying = underlying;
+        this.dispatcher = asynchronous ? new CoalescingDispatcher<>("health-events-", this::broadcast) : null;
+        this.transitionDetector = new HealthTransitionDetector(transitionThreshold);
     }
 
     @Override
     public Health aggregate(Map<String, Health> healths) {
         Health health = underlying.aggregate(healths);
+        if (dispatcher != null) {
+            dispatcher.submit(health);
+        } else {
+            broadcast(health);
+        }
+        return health;
+    }
+
+    private void broadcast(Health health) {
         if (applicationEventPublisher != null) {
             applicationEventPublisher.publishEvent(ApplicationHealthEvent.create(health));
+            synchronized (transitionLock) {
+                HealthTransitionEvent transition = transitionDetector.observe(health);
+                if (transition != null) {
+                    applicationEventPublisher.publishEvent(transition);
+                }
+            }
         }
-        return health;
     }
 
     @Override
     public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
         this.applicationEventPublisher = applicationEventPublisher;
     }
+
+    @Override
+    public void destroy() {
+        if (dispatcher != null) {
+            dispatcher.destroy();
+        }
+    }
 }
@@ -0,0 +1,64 @@
+package com.treatwell.roundabout.utils.health;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Hands values over to a {@link Consumer} on a single background thread, without ever
+ * blocking the submitting thread. Only the latest value is kept: if several values are
+ * submitted while the consumer is still busy, all but the most recent are dropped, so
+ * the consumer only ever sees the latest state.
+ *
+ * <p>This behaves as a ring buffer of size one, and the worker's queue is bounded to a
+ * single pending drain, so memory use is constant regardless of the submission rate.</p>
+ */
+public class CoalescingDispatcher<T> implements DisposableBean {
+    private static final Logger LOG = LoggerFactory.getLogger(CoalescingDispatcher.class);
+
+    private final Consumer<T> consumer;
+    private final AtomicReference<T> pending = new AtomicReference<>();
+    private final ThreadPoolExecutor worker;
+
+    public CoalescingDispatcher(String threadNamePrefix, Consumer<T> consumer) {
+        this.consumer = consumer;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+        threadFactory.setDaemon(true);
+        // A drain already waiting in the queue will pick up whatever is pending when it runs,
+        // so any further drain requested in the meantime can safely be discarded.
+        this.worker = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1), threadFactory, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /**
+     * Replaces any value not yet delivered with the given one, and schedules delivery.
+     */
+    public void submit(T value) {
+        if (pending.getAndSet(value) == null) {
+            worker.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        T value;
+        while ((value = pending.getAndSet(null)) != null) {
+            try {
+                consumer.accept(value);
+            } catch (RuntimeException e) {
+                LOG.warn("Failed to dispatch {}", value, e);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        worker.shutdownNow();
+    }
+}
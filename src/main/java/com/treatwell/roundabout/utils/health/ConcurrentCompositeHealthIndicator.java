@@ -0,0 +1,32 @@
+package com.treatwell.roundabout.utils.health;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.health.CompositeHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthAggregator;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Equivalent of {@link CompositeHealthIndicator}, except that the underlying indicators
+ * are executed concurrently by a {@link HealthIndicatorExecutor} before their results are
+ * passed to the {@link HealthAggregator}.
+ */
+public class ConcurrentCompositeHealthIndicator implements HealthIndicator {
+    private final HealthAggregator healthAggregator;
+    private final Map<String, HealthIndicator> indicators;
+    private final HealthIndicatorExecutor executor;
+
+    public ConcurrentCompositeHealthIndicator(HealthAggregator healthAggregator,
+            Map<String, HealthIndicator> indicators, HealthIndicatorExecutor executor) {
+        this.healthAggregator = healthAggregator;
+        this.indicators = new LinkedHashMap<>(indicators);
+        this.executor = executor;
+    }
+
+    @Override
+    public Health health() {
+        return healthAggregator.aggregate(executor.execute(indicators));
+    }
+}
@@ -1,36 +1,162 @@
 package com.treatwell.roundabout.utils.health;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+
+import org.springframework.boot.actuate.autoconfigure.health.HealthEndpointAutoConfiguration;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
- * Controller endpoint that's auto-configured into every application importing this
+ * Controller endpoint that's auto-configured into applications importing this
  * library, by virtue of being listed as an entry under
  * {@code org.springframework.boot.autoconfigure.EnableAutoConfiguration} in the
  * {@code spring.factories} file within this module.
  *
  * <p>
- * This class has no conditions on it, and will thus always be included in any
- * such application.
+ * It's only included in servlet web applications which have a {@link HealthEndpoint}, and can
+ * be turned off with {@code roundabout.health.custom-endpoint.enabled=false}. It's also lazy,
+ * so that nothing is created, nor any health check run, until the first request.
+ * </p>
+ *
+ * <p>
+ * Responses are rendered once per distinct {@link Health} and then served as-is, including
+ * an {@code ETag} so that clients sending {@code If-None-Match} get an empty 304 while health
+ * is unchanged. The tag is a SHA-256 digest of the body, and {@code If-None-Match} is matched
+ * as described in RFC 7232: {@code *}, lists of tags, and weak {@code W/} tags are all
+ * accepted. Passing {@code ?format=compact} selects a fixed, machine-readable
+ * {@code STATUS|component=status,...} format rather than the full details.
  * </p>
  */
 @RestController
+@Lazy
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@ConditionalOnClass(HealthEndpoint.class)
+@ConditionalOnBean(HealthEndpoint.class)
+@ConditionalOnProperty(prefix = "roundabout.health.custom-endpoint", name = "enabled", matchIfMissing = true)
+@AutoConfigureAfter(HealthEndpointAutoConfiguration.class)
 public class CustomHealthEndpoint {
+    private static final MediaType TEXT_PLAIN_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
 
     private final HealthEndpoint healthEndpoint;
 
+    private volatile Rendering rendering;
+
     public CustomHealthEndpoint(HealthEndpoint healthEndpoint) {
         this.healthEndpoint = healthEndpoint;
     }
 
     @GetMapping("/__custom/health")
-    @ResponseStatus(HttpStatus.OK)
-    public String health() {
-        Health current = healthEndpoint.health();
-        return current.getStatus() + "|" + current.getDetails();
+    public ResponseEntity<byte[]> health(@RequestParam(name = "format", required = false) String format,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Rendering current = render(healthEndpoint.health());
+        Response response = "compact".equals(format) ? current.compact : current.full;
+        return matches(ifNoneMatch, response.etag) ? response.notModified : response.ok;
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header matches the given tag. Per RFC 7232 this uses the
+     * weak comparison, so a {@code W/} prefix is ignored, and the header may be {@code *} or a
+     * comma-separated list of tags.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        if ("*".equals(ifNoneMatch.trim())) {
+            return true;
+        }
+        // Tags may themselves contain commas, so walk the quoted strings rather than splitting
+        int start = ifNoneMatch.indexOf('"');
+        while (start >= 0) {
+            int end = ifNoneMatch.indexOf('"', start + 1);
+            if (end < 0) {
+                return false;
+            }
+            if (end + 1 - start == etag.length() && ifNoneMatch.regionMatches(start, etag, 0, etag.length())) {
+                return true;
+            }
+            start = ifNoneMatch.indexOf('"', end + 1);
+        }
+        return false;
+    }
+
+    private Rendering render(Health health) {
+        Rendering current = rendering;
+        // Health checks served from a snapshot return the same instance, so the identity
+        // check is usually enough to avoid re-rendering
+        if (current == null || (current.health != health && !current.health.equals(health))) {
+            current = new Rendering(health);
+            rendering = current;
+        }
+        return current;
+    }
+
+    private static String compact(Health health) {
+        StringBuilder message = new StringBuilder().append(health.getStatus().getCode()).append('|');
+        boolean first = true;
+        for (Map.Entry<String, Object> entry : health.getDetails().entrySet()) {
+            if (entry.getValue() instanceof Health) {
+                if (!first) {
+                    message.append(',');
+                }
+                first = false;
+                message.append(entry.getKey()).append('=').append(((Health) entry.getValue()).getStatus().getCode());
+            }
+        }
+        return message.toString();
+    }
+
+    private static final class Rendering {
+        private final Health health;
+        private final Response full;
+        private final Response compact;
+
+        private Rendering(Health health) {
+            this.health = health;
+            this.full = new Response(health.getStatus() + "|" + health.getDetails());
+            this.compact = new Response(compact(health));
+        }
+    }
+
+    private static final class Response {
+        private final String etag;
+        private final ResponseEntity<byte[]> ok;
+        private final ResponseEntity<byte[]> notModified;
+
+        private Response(String body) {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            this.etag = "\"" + digest(bytes) + "\"";
+            this.ok = ResponseEntity.status(HttpStatus.OK).contentType(TEXT_PLAIN_UTF8).eTag(etag).body(bytes);
+            this.notModified = ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        private static String digest(byte[] bytes) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+                return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+            } catch (NoSuchAlgorithmException e) {
+                // Every Java platform is required to support SHA-256
+                throw new IllegalStateException(e);
+            }
+        }
     }
 }
@@ -0,0 +1,50 @@
+package com.treatwell.roundabout.utils.health;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for how {@link BroadcastingHealthAggregator} publishes its events, bound
+ * from the {@code roundabout.health.events} prefix.
+ */
+@ConfigurationProperties("roundabout.health.events")
+public class HealthEventProperties {
+
+    /**
+     * How events are handed over to the Spring event bus.
+     */
+    private Dispatch dispatch = Dispatch.SYNC;
+
+    /**
+     * Number of consecutive health checks which must agree on a new state before a
+     * {@link HealthTransitionEvent} is published for it.
+     */
+    private int transitionThreshold = 1;
+
+    public Dispatch getDispatch() {
+        return dispatch;
+    }
+
+    public void setDispatch(Dispatch dispatch) {
+        this.dispatch = dispatch;
+    }
+
+    public int getTransitionThreshold() {
+        return transitionThreshold;
+    }
+
+    public void setTransitionThreshold(int transitionThreshold) {
+        this.transitionThreshold = transitionThreshold;
+    }
+
+    public enum Dispatch {
+        /**
+         * Listeners are invoked on the thread performing the health check.
+         */
+        SYNC,
+        /**
+         * Listeners are invoked on a single background thread, and only see the most
+         * recent health check result if several are made while they're busy.
+         */
+        ASYNC
+    }
+}
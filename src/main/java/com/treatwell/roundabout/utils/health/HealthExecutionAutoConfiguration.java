@@ -0,0 +1,151 @@
+package com.treatwell.roundabout.utils.health;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnEnabledEndpoint;
+import org.springframework.boot.actuate.autoconfigure.health.HealthEndpointAutoConfiguration;
+import org.springframework.boot.actuate.health.CompositeHealthIndicator;
+import org.springframework.boot.actuate.health.HealthAggregator;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.HealthEndpointWebExtension;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.HealthIndicatorNameFactory;
+import org.springframework.boot.actuate.health.HealthWebEndpointResponseMapper;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Replaces the default {@link HealthEndpoint} with one which changes how the application's
+ * {@link HealthIndicator}s are executed. Both modes are opt-in, and may be combined:
+ *
+ * <ul>
+ * <li>{@code roundabout.health.snapshot.enabled=true} serves health checks from a
+ * {@link HealthSnapshotCache}, so that neither {@code /actuator/health} nor
+ * {@link CustomHealthEndpoint} execute any indicator on the request thread. Each indicator's
+ * result can additionally be kept for longer than the refresh interval through
+ * {@code roundabout.health.snapshot.time-to-live.<name>=30s}.</li>
+ * <li>{@code roundabout.health.parallel.enabled=true} executes the indicators concurrently
+ * with a {@link HealthIndicatorExecutor}, each one bounded by
+ * {@code roundabout.health.parallel.timeout}.</li>
+ * <li>{@code roundabout.health.metrics.enabled=true} records every execution of each
+ * indicator, and of the aggregate check, into {@link HealthMetrics}.</li>
+ * </ul>
+ *
+ * <p>
+ * Over HTTP, {@code /actuator/health} is served by a {@link HealthEndpointWebExtension} rather than
+ * by the {@link HealthEndpoint} itself, and Boot builds that extension from its own composite of
+ * every {@link HealthIndicator} bean. A web extension delegating to the endpoint defined here is
+ * therefore registered as well, so that HTTP callers get the same snapshot.
+ */
+@Configuration
+@ConditionalOnClass(HealthIndicator.class)
+@Conditional(HealthExecutionAutoConfiguration.CustomExecutionCondition.class)
+@AutoConfigureBefore(HealthEndpointAutoConfiguration.class)
+@EnableConfigurationProperties({ HealthSnapshotProperties.class, ParallelHealthProperties.class })
+public class HealthExecutionAutoConfiguration {
+
+    private final HealthSnapshotProperties snapshotProperties;
+    private final ParallelHealthProperties parallelProperties;
+
+    public HealthExecutionAutoConfiguration(HealthSnapshotProperties snapshotProperties,
+            ParallelHealthProperties parallelProperties) {
+        this.snapshotProperties = snapshotProperties;
+        this.parallelProperties = parallelProperties;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "roundabout.health.parallel", name = "enabled", havingValue = "true")
+    public HealthIndicatorExecutor healthIndicatorExecutor() {
+        return new HealthIndicatorExecutor(parallelProperties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "roundabout.health.snapshot", name = "enabled", havingValue = "true")
+    public HealthSnapshotCache healthSnapshotCache(HealthAggregator healthAggregator,
+            Map<String, HealthIndicator> healthIndicators, ObjectProvider<HealthIndicatorExecutor> executor,
+            ObjectProvider<HealthMetrics> metrics) {
+        return new HealthSnapshotCache(
+                createHealthIndicator(healthAggregator, healthIndicators, executor.getIfAvailable(),
+                        metrics.getIfAvailable(), true),
+                snapshotProperties.getRefreshInterval());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public HealthEndpoint healthEndpoint(HealthAggregator healthAggregator,
+            Map<String, HealthIndicator> healthIndicators, ObjectProvider<HealthIndicatorExecutor> executor,
+            ObjectProvider<HealthMetrics> metrics, ObjectProvider<HealthSnapshotCache> snapshotCache) {
+        HealthSnapshotCache cache = snapshotCache.getIfAvailable();
+        if (cache != null) {
+            return new HealthEndpoint(cache::getSnapshot);
+        }
+        return new HealthEndpoint(createHealthIndicator(healthAggregator, healthIndicators,
+                executor.getIfAvailable(), metrics.getIfAvailable(), false));
+    }
+
+    private HealthIndicator createHealthIndicator(HealthAggregator healthAggregator,
+            Map<String, HealthIndicator> healthIndicators, HealthIndicatorExecutor executor,
+            HealthMetrics metrics, boolean snapshot) {
+        HealthIndicatorNameFactory nameFactory = new HealthIndicatorNameFactory();
+        Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+        healthIndicators.forEach((beanName, indicator) -> {
+            String name = nameFactory.apply(beanName);
+            if (metrics != null) {
+                indicator = new TimedHealthIndicator(indicator, metrics.indicator(name));
+            }
+            Duration timeToLive = snapshotProperties.getTimeToLive(name);
+            if (snapshot && !timeToLive.isZero()) {
+                indicator = new TimeToLiveHealthIndicator(indicator, timeToLive);
+            }
+            indicators.put(name, indicator);
+        });
+        HealthIndicator composite = executor != null
+                ? new ConcurrentCompositeHealthIndicator(healthAggregator, indicators, executor)
+                : new CompositeHealthIndicator(healthAggregator, indicators);
+        return metrics != null ? new TimedHealthIndicator(composite, metrics.getAggregate()) : composite;
+    }
+
+    @Configuration
+    @ConditionalOnWebApplication(type = Type.SERVLET)
+    static class WebExtensionConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnEnabledEndpoint
+        public HealthEndpointWebExtension healthEndpointWebExtension(HealthEndpoint healthEndpoint,
+                HealthWebEndpointResponseMapper responseMapper) {
+            return new HealthEndpointWebExtension(healthEndpoint::health, responseMapper);
+        }
+    }
+
+    static class CustomExecutionCondition extends AnyNestedCondition {
+
+        CustomExecutionCondition() {
+            super(ConfigurationPhase.PARSE_CONFIGURATION);
+        }
+
+        @ConditionalOnProperty(prefix = "roundabout.health.snapshot", name = "enabled", havingValue = "true")
+        static class SnapshotEnabled {
+        }
+
+        @ConditionalOnProperty(prefix = "roundabout.health.parallel", name = "enabled", havingValue = "true")
+        static class ParallelEnabled {
+        }
+
+        @ConditionalOnProperty(prefix = "roundabout.health.metrics", name = "enabled", havingValue = "true")
+        static class MetricsEnabled {
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.treatwell.roundabout.utils.health;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * A named group of health indicators, and of nested groups, which can be checked on its own.
+ * Only the group's own members are executed, so that a cheap group (e.g. liveness) never runs
+ * the expensive indicators of another (e.g. readiness). Given a {@link HealthIndicatorExecutor},
+ * the members are executed concurrently, as for the application's overall health.
+ *
+ * <p>Each group aggregates through its own {@link IncrementalHealthAggregator}, so a group whose
+ * members are unchanged returns the very same {@link Health} instance as last time, which in
+ * turn lets its parent skip re-aggregating it. A group without any members is UP, as whatever
+ * answers its check is alive.</p>
+ */
+public class HealthGroup {
+    private final String name;
+    private final Map<String, HealthIndicator> members;
+    private final List<HealthGroup> subgroups = new ArrayList<>();
+    private final IncrementalHealthAggregator aggregator;
+    private final HealthIndicatorExecutor executor;
+
+    public HealthGroup(String name, Map<String, HealthIndicator> members, List<String> statusOrder) {
+        this(name, members, statusOrder, null);
+    }
+
+    public HealthGroup(String name, Map<String, HealthIndicator> members, List<String> statusOrder,
+            HealthIndicatorExecutor executor) {
+        this.name = name;
+        this.members = members;
+        this.aggregator = new IncrementalHealthAggregator(statusOrder);
+        this.executor = executor;
+    }
+
+    void addSubgroup(HealthGroup subgroup) {
+        subgroups.add(subgroup);
+    }
+
+    public Health health() {
+        if (members.isEmpty() && subgroups.isEmpty()) {
+            return Health.up().build();
+        }
+        Map<String, Health> healths = new LinkedHashMap<>();
+        if (executor != null && members.size() > 1) {
+            healths.putAll(executor.execute(members));
+        } else {
+            members.forEach((memberName, indicator) -> healths.put(memberName, indicator.health()));
+        }
+        for (HealthGroup subgroup : subgroups) {
+            healths.put(subgroup.getSimpleName(), subgroup.health());
+        }
+        return aggregator.aggregate(healths);
+    }
+
+    /**
+     * @return the full name of the group, e.g. {@code db/tenant1}.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the last segment of the group's name, e.g. {@code tenant1}.
+     */
+    public String getSimpleName() {
+        return name.substring(name.lastIndexOf('/') + 1);
+    }
+
+    public Map<String, HealthIndicator> getMembers() {
+        return Collections.unmodifiableMap(members);
+    }
+
+    public List<HealthGroup> getSubgroups() {
+        return Collections.unmodifiableList(subgroups);
+    }
+}
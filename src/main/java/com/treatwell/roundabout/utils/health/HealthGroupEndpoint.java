@@ -0,0 +1,43 @@
+package com.treatwell.roundabout.utils.health;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthStatusHttpMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Controller endpoint checking a single {@link HealthGroup}, e.g.
+ * {@code /__custom/health/group/liveness} or {@code /__custom/health/group/db/tenant1}. The
+ * response's HTTP status follows the group's status as for the actuator's health endpoint, so
+ * that it can be used directly as a liveness or readiness probe.
+ */
+@RestController
+public class HealthGroupEndpoint {
+    private static final String PATH = "/__custom/health/group/**";
+
+    private final HealthGroups healthGroups;
+    private final HealthStatusHttpMapper statusHttpMapper = new HealthStatusHttpMapper();
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public HealthGroupEndpoint(HealthGroups healthGroups) {
+        this.healthGroups = healthGroups;
+    }
+
+    @GetMapping(PATH)
+    public ResponseEntity<Health> health(HttpServletRequest request) {
+        String name = pathMatcher.extractPathWithinPattern(PATH,
+                (String) request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE));
+        HealthGroup group = healthGroups.get(name);
+        if (group == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        Health health = group.health();
+        return ResponseEntity.status(statusHttpMapper.mapStatus(health.getStatus())).body(health);
+    }
+}
@@ -0,0 +1,51 @@
+package com.treatwell.roundabout.utils.health;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for the {@link HealthGroups}, bound from the {@code roundabout.health.groups}
+ * prefix.
+ */
+@ConfigurationProperties("roundabout.health.groups")
+public class HealthGroupProperties {
+
+    /**
+     * Whether health groups can be checked independently.
+     */
+    private boolean enabled = false;
+
+    /**
+     * The indicators in each group, by group name, as indicator names or simple {@code *}
+     * patterns. Group names containing a {@code /} are nested within the group before it (e.g.
+     * {@code members[db/tenant1]=tenant1Db}). By default, liveness has no members, and readiness
+     * every indicator.
+     */
+    private Map<String, List<String>> members = new LinkedHashMap<>();
+
+    public HealthGroupProperties() {
+        members.put("liveness", new ArrayList<>());
+        members.put("readiness", new ArrayList<>(Collections.singletonList("*")));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Map<String, List<String>> getMembers() {
+        return members;
+    }
+
+    public void setMembers(Map<String, List<String>> members) {
+        this.members = members;
+    }
+}
@@ -0,0 +1,67 @@
+package com.treatwell.roundabout.utils.health;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.util.PatternMatchUtils;
+
+/**
+ * The hierarchy of {@link HealthGroup}s, built from each group's member patterns. A group named
+ * {@code a/b} is nested within group {@code a}, which is created without members of its own if
+ * it isn't configured, so that e.g. {@code db} aggregates every {@code db/*} group.
+ */
+public class HealthGroups {
+    private final Map<String, HealthGroup> groups = new TreeMap<>();
+
+    public HealthGroups(Map<String, List<String>> members, Map<String, HealthIndicator> indicators,
+            List<String> statusOrder) {
+        this(members, indicators, statusOrder, null);
+    }
+
+    public HealthGroups(Map<String, List<String>> members, Map<String, HealthIndicator> indicators,
+            List<String> statusOrder, HealthIndicatorExecutor executor) {
+        members.forEach((name, patterns) -> {
+            Map<String, HealthIndicator> groupMembers = new LinkedHashMap<>();
+            indicators.forEach((indicatorName, indicator) -> {
+                if (PatternMatchUtils.simpleMatch(patterns.toArray(new String[0]), indicatorName)) {
+                    groupMembers.put(indicatorName, indicator);
+                }
+            });
+            groups.put(name, new HealthGroup(name, groupMembers, statusOrder, executor));
+        });
+        // Sorted, so that parents are created before their children are attached
+        for (String name : new TreeMap<>(groups).keySet()) {
+            attach(groups.get(name), statusOrder);
+        }
+    }
+
+    private void attach(HealthGroup group, List<String> statusOrder) {
+        int separator = group.getName().lastIndexOf('/');
+        if (separator <= 0) {
+            return;
+        }
+        String parentName = group.getName().substring(0, separator);
+        HealthGroup parent = groups.get(parentName);
+        if (parent == null) {
+            parent = new HealthGroup(parentName, Collections.emptyMap(), statusOrder);
+            groups.put(parentName, parent);
+            attach(parent, statusOrder);
+        }
+        parent.addSubgroup(group);
+    }
+
+    /**
+     * @return the named group, or {@code null} if there's no such group.
+     */
+    public HealthGroup get(String name) {
+        return groups.get(name);
+    }
+
+    public Map<String, HealthGroup> getGroups() {
+        return Collections.unmodifiableMap(groups);
+    }
+}
@@ -0,0 +1,96 @@
+package com.treatwell.roundabout.utils.health;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.health.HealthIndicatorProperties;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.HealthIndicatorNameFactory;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configures {@link HealthGroups}, checked independently of each other (and of the application's
+ * overall health) through the {@link HealthGroupEndpoint}. Groups share how the application's
+ * overall health is executed (see {@link HealthExecutionAutoConfiguration}):
+ *
+ * <ul>
+ * <li>with a {@link HealthSnapshotCache}, each member's health is read from the latest snapshot,
+ * so that probing a group never executes any indicator;</li>
+ * <li>otherwise, members are executed by the {@link HealthIndicatorExecutor} and recorded into
+ * {@link HealthMetrics} when those are enabled, and indicators given a time-to-live through
+ * {@code roundabout.health.snapshot.time-to-live.<name>} are cached for that long.</li>
+ * </ul>
+ *
+ * <p>This is opt-in, and enabled by setting
+ * <pre>
+ * <code>
+ * roundabout.health.groups.enabled=true
+ * </code>
+ * </pre>
+ * </p>
+ */
+@Configuration
+@ConditionalOnClass(HealthIndicator.class)
+@ConditionalOnProperty(prefix = "roundabout.health.groups", name = "enabled", havingValue = "true")
+@AutoConfigureAfter({ HealthExecutionAutoConfiguration.class, HealthMetricsAutoConfiguration.class })
+@EnableConfigurationProperties({ HealthGroupProperties.class, HealthIndicatorProperties.class,
+        HealthSnapshotProperties.class })
+public class HealthGroupsAutoConfiguration {
+
+    @Bean
+    public HealthGroups healthGroups(HealthGroupProperties properties, HealthIndicatorProperties indicatorProperties,
+            HealthSnapshotProperties snapshotProperties, Map<String, HealthIndicator> healthIndicators,
+            ObjectProvider<HealthSnapshotCache> snapshotCache, ObjectProvider<HealthIndicatorExecutor> executor,
+            ObjectProvider<HealthMetrics> metrics) {
+        List<String> statusOrder = indicatorProperties.getOrder() != null ? indicatorProperties.getOrder()
+                : IncrementalHealthAggregator.DEFAULT_ORDER;
+        HealthIndicatorNameFactory nameFactory = new HealthIndicatorNameFactory();
+        Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+
+        HealthSnapshotCache cache = snapshotCache.getIfAvailable();
+        if (cache != null) {
+            healthIndicators.keySet().forEach(beanName -> {
+                String name = nameFactory.apply(beanName);
+                indicators.put(name, () -> getSnapshotMember(cache.getSnapshot(), name));
+            });
+            return new HealthGroups(properties.getMembers(), indicators, statusOrder);
+        }
+
+        HealthMetrics healthMetrics = metrics.getIfAvailable();
+        healthIndicators.forEach((beanName, indicator) -> {
+            String name = nameFactory.apply(beanName);
+            if (healthMetrics != null) {
+                indicator = new TimedHealthIndicator(indicator, healthMetrics.indicator(name));
+            }
+            Duration timeToLive = snapshotProperties.getTimeToLive(name);
+            indicators.put(name, timeToLive.isZero() ? indicator : new TimeToLiveHealthIndicator(indicator, timeToLive));
+        });
+        return new HealthGroups(properties.getMembers(), indicators, statusOrder, executor.getIfAvailable());
+    }
+
+    /**
+     * @return the named indicator's health within the snapshot, or the snapshot's own status if
+     * it has none (e.g. before the first snapshot, or when taking it failed outright).
+     */
+    private static Health getSnapshotMember(Health snapshot, String name) {
+        Object member = snapshot.getDetails().get(name);
+        return member instanceof Health ? (Health) member : Health.status(snapshot.getStatus()).build();
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = Type.SERVLET)
+    public HealthGroupEndpoint healthGroupEndpoint(HealthGroups healthGroups) {
+        return new HealthGroupEndpoint(healthGroups);
+    }
+}
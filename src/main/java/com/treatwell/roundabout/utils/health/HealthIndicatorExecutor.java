@@ -0,0 +1,104 @@
+package com.treatwell.roundabout.utils.health;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Executes a set of {@link HealthIndicator}s concurrently on a bounded thread pool, giving
+ * each one a deadline measured from the start of the check. The time taken for the whole
+ * check is therefore that of the slowest indicator (capped at its deadline), rather than
+ * the sum of all of them.
+ *
+ * <p>Indicators which miss their deadline are cancelled and reported with the configured
+ * timeout {@link Status}; indicators which can't be scheduled because the pool is saturated
+ * are reported as {@link Status#DOWN}.</p>
+ */
+public class HealthIndicatorExecutor implements DisposableBean {
+    private final ThreadPoolExecutor executor;
+    private final Duration defaultTimeout;
+    private final Map<String, Duration> timeouts;
+    private final Status timeoutStatus;
+
+    public HealthIndicatorExecutor(int poolSize, int queueCapacity, Duration defaultTimeout,
+            Map<String, Duration> timeouts, Status timeoutStatus) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("health-indicator-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.defaultTimeout = defaultTimeout;
+        this.timeouts = timeouts;
+        this.timeoutStatus = timeoutStatus;
+    }
+
+    public HealthIndicatorExecutor(ParallelHealthProperties properties) {
+        this(properties.getPoolSize(), properties.getQueueCapacity(), properties.getTimeout(),
+                properties.getTimeouts(), new Status(properties.getTimeoutStatus()));
+    }
+
+    /**
+     * Executes all the given indicators, returning their results in the same iteration order.
+     */
+    public Map<String, Health> execute(Map<String, HealthIndicator> indicators) {
+        long start = System.nanoTime();
+        Map<String, Future<Health>> futures = new LinkedHashMap<>();
+        for (Map.Entry<String, HealthIndicator> entry : indicators.entrySet()) {
+            Callable<Health> task = entry.getValue()::health;
+            try {
+                futures.put(entry.getKey(), executor.submit(task));
+            } catch (RejectedExecutionException e) {
+                futures.put(entry.getKey(), CompletableFuture.completedFuture(
+                        Health.down().withDetail("error", "Rejected, health indicator pool is saturated").build()));
+            }
+        }
+
+        Map<String, Health> healths = new LinkedHashMap<>();
+        for (Map.Entry<String, Future<Health>> entry : futures.entrySet()) {
+            healths.put(entry.getKey(), await(entry.getKey(), entry.getValue(), start));
+        }
+        return healths;
+    }
+
+    private Health await(String name, Future<Health> future, long start) {
+        Duration timeout = timeouts.getOrDefault(name, defaultTimeout);
+        long remaining = start + timeout.toNanos() - System.nanoTime();
+        try {
+            return future.get(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            return Health.status(timeoutStatus)
+                    .withDetail("error", "Timed out after " + timeout.toMillis() + "ms")
+                    .build();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            return Health.down()
+                    .withDetail("error", cause.getClass().getName() + ": " + cause.getMessage())
+                    .build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return Health.unknown().withDetail("error", "Interrupted").build();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
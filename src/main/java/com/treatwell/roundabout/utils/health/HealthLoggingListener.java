@@ -3,7 +3,6 @@ package com.treatwell.roundabout.utils.health;
 import static java.util.stream.Collectors.joining;
 
 import java.util.AbstractMap.SimpleEntry;
-import java.util.Objects;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,28 +14,28 @@ import org.springframework.context.PayloadApplicationEvent;
 /**
  * Logs recorded changes to application health.
  */
-public class HealthLoggingListener implements ApplicationListener<PayloadApplicationEvent<? extends ApplicationHealthEvent>> {
+public class HealthLoggingListener implements ApplicationListener<PayloadApplicationEvent<HealthTransitionEvent>> {
     private static final Logger LOG = LoggerFactory.getLogger(HealthLoggingListener.class);
 
-    private volatile Status current = null;
-
     @Override
-    public void onApplicationEvent(PayloadApplicationEvent<? extends ApplicationHealthEvent> event) {
-        if (!Objects.equals(current, event.getPayload().getStatus())) {
-            Status old = current;
-            current = event.getPayload().getStatus();
-            if (Status.UP.equals(current)) {
-                LOG.info("Application Status has returned to {} (was {})", current, old);
-            } else {
-                // Look at the detail of the event to find the underlying details that are DOWN
-                String failures = event.getPayload().getHealth().getDetails().entrySet().stream()
-                        .filter(e -> e.getValue() instanceof Health)
-                        .map(e -> new SimpleEntry<>(e.getKey(), (Health) e.getValue()))
-                        .filter(e -> e.getValue().getStatus() != Status.UP)
-                        .map(e -> e.getKey() + " (" + e.getValue().getStatus() + ")")
-                        .collect(joining(", ", "[", "]"));
-                LOG.warn("Application Status is now {} (was {}). Failures: {}", current, old, failures);
-            }
+    public void onApplicationEvent(PayloadApplicationEvent<HealthTransitionEvent> event) {
+        HealthTransitionEvent transition = event.getPayload();
+        Status current = transition.getStatus();
+        Status old = transition.getPreviousStatus();
+        if (!transition.isStatusChanged()) {
+            LOG.info("Application Status remains {}, but components changed: {}", current,
+                    transition.getChangedComponents());
+        } else if (Status.UP.equals(current)) {
+            LOG.info("Application Status has returned to {} (was {})", current, old);
+        } else {
+            // Look at the detail of the event to find the underlying details that are DOWN
+            String failures = transition.getHealth().getDetails().entrySet().stream()
+                    .filter(e -> e.getValue() instanceof Health)
+                    .map(e -> new SimpleEntry<>(e.getKey(), (Health) e.getValue()))
+                    .filter(e -> e.getValue().getStatus() != Status.UP)
+                    .map(e -> e.getKey() + " (" + e.getValue().getStatus() + ")")
+                    .collect(joining(", ", "[", "]"));
+            LOG.warn("Application Status is now {} (was {}). Failures: {}", current, old, failures);
         }
     }
 }
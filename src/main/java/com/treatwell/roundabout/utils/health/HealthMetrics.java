@@ -0,0 +1,125 @@
+package com.treatwell.roundabout.utils.health;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.springframework.boot.actuate.health.Status;
+
+import com.treatwell.roundabout.utils.metrics.LatencyHistogram;
+
+/**
+ * Registry of per-indicator health check metrics: execution latency, the last reported
+ * {@link Status}, and how many times that status has changed. The aggregate health check is
+ * tracked in the same way under {@link #AGGREGATE}, along with the rate of checks.
+ */
+public class HealthMetrics {
+    public static final String AGGREGATE = "_aggregate";
+    private static final long RATE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final ConcurrentMap<String, IndicatorMetrics> indicators = new ConcurrentHashMap<>();
+    private final List<Consumer<IndicatorMetrics>> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile long rateSampleTime = System.nanoTime();
+    private volatile long rateSampleCount = 0;
+    private volatile double checkRate = 0;
+
+    /**
+     * @return the metrics for the named indicator, creating them if necessary.
+     */
+    public IndicatorMetrics indicator(String name) {
+        IndicatorMetrics metrics = indicators.get(name);
+        if (metrics == null) {
+            IndicatorMetrics created = new IndicatorMetrics(name);
+            metrics = indicators.putIfAbsent(name, created);
+            if (metrics == null) {
+                metrics = created;
+                listeners.forEach(listener -> listener.accept(created));
+            }
+        }
+        return metrics;
+    }
+
+    public IndicatorMetrics getAggregate() {
+        return indicator(AGGREGATE);
+    }
+
+    public Map<String, IndicatorMetrics> getIndicators() {
+        return indicators;
+    }
+
+    /**
+     * Registers a callback for every indicator, both those already known and any added later.
+     */
+    public void forEachIndicator(Consumer<IndicatorMetrics> listener) {
+        listeners.add(listener);
+        indicators.values().forEach(listener);
+    }
+
+    /**
+     * @return the aggregate health checks per second, averaged over roughly the last ten seconds.
+     */
+    public synchronized double getCheckRate() {
+        long now = System.nanoTime();
+        long elapsed = now - rateSampleTime;
+        if (elapsed >= RATE_INTERVAL_NANOS) {
+            long count = getAggregate().getLatency().getCount();
+            checkRate = (count - rateSampleCount) * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+            rateSampleCount = count;
+            rateSampleTime = now;
+        }
+        return checkRate;
+    }
+
+    /**
+     * Metrics for a single health indicator.
+     */
+    public static final class IndicatorMetrics {
+        private final String name;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final AtomicLong transitions = new AtomicLong();
+        private volatile Status status;
+
+        private IndicatorMetrics(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Records a single execution. This performs no allocation.
+         */
+        public void record(long nanos, Status result) {
+            latency.record(nanos);
+            Status previous = status;
+            if (!result.equals(previous)) {
+                status = result;
+                if (previous != null) {
+                    transitions.incrementAndGet();
+                }
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        public long getTransitions() {
+            return transitions.get();
+        }
+
+        /**
+         * @return the last reported status, or {@code null} if never executed.
+         */
+        public Status getStatus() {
+            return status;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.treatwell.roundabout.utils.health;
+
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnEnabledEndpoint;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Configures {@link HealthMetrics}, along with an actuator endpoint to expose them and,
+ * when Micrometer is present, a binder publishing them as meters. The indicators themselves
+ * are instrumented by {@link HealthExecutionAutoConfiguration}.
+ *
+ * <p>This is opt-in, and enabled by setting
+ * <pre>
+ * <code>
+ * roundabout.health.metrics.enabled=true
+ * </code>
+ * </pre>
+ * </p>
+ */
+@Configuration
+@ConditionalOnClass(HealthIndicator.class)
+@ConditionalOnProperty(prefix = "roundabout.health.metrics", name = "enabled", havingValue = "true")
+public class HealthMetricsAutoConfiguration {
+
+    @Bean
+    public HealthMetrics healthMetrics() {
+        return new HealthMetrics();
+    }
+
+    @Bean
+    @ConditionalOnEnabledEndpoint
+    public HealthMetricsEndpoint healthMetricsEndpoint(HealthMetrics healthMetrics) {
+        return new HealthMetricsEndpoint(healthMetrics);
+    }
+
+    @Configuration
+    @ConditionalOnClass(MeterRegistry.class)
+    static class MicrometerConfiguration {
+
+        @Bean
+        public HealthMetricsMeterBinder healthMetricsMeterBinder(HealthMetrics healthMetrics) {
+            return new HealthMetricsMeterBinder(healthMetrics);
+        }
+    }
+}
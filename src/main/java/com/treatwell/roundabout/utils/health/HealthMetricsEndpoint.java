@@ -0,0 +1,38 @@
+package com.treatwell.roundabout.utils.health;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Actuator endpoint exposing the {@link HealthMetrics}, at {@code /actuator/healthmetrics}
+ * once included in {@code management.endpoints.web.exposure.include}.
+ */
+@Endpoint(id = "healthmetrics")
+public class HealthMetricsEndpoint {
+
+    private final HealthMetrics healthMetrics;
+
+    public HealthMetricsEndpoint(HealthMetrics healthMetrics) {
+        this.healthMetrics = healthMetrics;
+    }
+
+    @ReadOperation
+    public Map<String, Object> metrics() {
+        Map<String, Object> indicators = new TreeMap<>();
+        healthMetrics.getIndicators().forEach((name, metrics) -> {
+            Map<String, Object> indicator = new LinkedHashMap<>();
+            indicator.put("status", metrics.getStatus() != null ? metrics.getStatus().getCode() : null);
+            indicator.put("transitions", metrics.getTransitions());
+            indicator.put("latency", metrics.getLatency().summary());
+            indicators.put(name, indicator);
+        });
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("checkRate", healthMetrics.getCheckRate());
+        result.put("indicators", indicators);
+        return result;
+    }
+}
@@ -0,0 +1,52 @@
+package com.treatwell.roundabout.utils.health;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.actuate.health.Status;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes {@link HealthMetrics} to Micrometer. Every meter reads from the existing
+ * {@link HealthMetrics} when polled, so nothing extra is recorded on the health check path.
+ */
+public class HealthMetricsMeterBinder implements MeterBinder {
+
+    private final HealthMetrics healthMetrics;
+
+    public HealthMetricsMeterBinder(HealthMetrics healthMetrics) {
+        this.healthMetrics = healthMetrics;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("health.checks.rate", healthMetrics, HealthMetrics::getCheckRate)
+                .description("Aggregate health checks per second")
+                .register(registry);
+        healthMetrics.forEachIndicator(metrics -> {
+            String name = metrics.getName();
+            FunctionTimer.builder("health.indicator.latency", metrics,
+                    m -> m.getLatency().getCount(),
+                    m -> m.getLatency().getTotal(TimeUnit.NANOSECONDS),
+                    TimeUnit.NANOSECONDS)
+                    .tag("indicator", name)
+                    .register(registry);
+            Gauge.builder("health.indicator.latency.p99", metrics,
+                    m -> m.getLatency().getValueAtQuantile(0.99, TimeUnit.SECONDS))
+                    .tag("indicator", name)
+                    .baseUnit("seconds")
+                    .register(registry);
+            Gauge.builder("health.indicator.up", metrics, m -> Status.UP.equals(m.getStatus()) ? 1 : 0)
+                    .tag("indicator", name)
+                    .register(registry);
+            FunctionCounter.builder("health.indicator.transitions", metrics,
+                    HealthMetrics.IndicatorMetrics::getTransitions)
+                    .tag("indicator", name)
+                    .register(registry);
+        });
+    }
+}
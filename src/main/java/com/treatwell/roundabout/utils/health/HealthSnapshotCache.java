@@ -0,0 +1,98 @@
+package com.treatwell.roundabout.utils.health;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Holds the most recent result of a (composite) {@link HealthIndicator}, refreshing it on a
+ * background thread at a fixed interval. Health probes then read the last snapshot, rather
+ * than executing every indicator (and broadcasting a new {@link ApplicationHealthEvent})
+ * on every request.
+ *
+ * <p>The first snapshot is taken synchronously when the context starts, so that the
+ * web server never serves a health check before one is available.</p>
+ */
+public class HealthSnapshotCache implements SmartLifecycle {
+    private static final Logger LOG = LoggerFactory.getLogger(HealthSnapshotCache.class);
+
+    private final HealthIndicator healthIndicator;
+    private final Duration refreshInterval;
+
+    private volatile Health snapshot = Health.unknown().build();
+    private ScheduledExecutorService scheduler;
+
+    public HealthSnapshotCache(HealthIndicator healthIndicator, Duration refreshInterval) {
+        this.healthIndicator = healthIndicator;
+        this.refreshInterval = refreshInterval;
+    }
+
+    /**
+     * @return the most recently computed {@link Health}.
+     */
+    public Health getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Re-computes the snapshot on the calling thread.
+     */
+    public void refresh() {
+        try {
+            snapshot = healthIndicator.health();
+        } catch (RuntimeException e) {
+            // Never let the scheduled task die, otherwise the snapshot would be frozen forever
+            LOG.warn("Failed to refresh health snapshot", e);
+            snapshot = Health.down(e).build();
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler == null) {
+            refresh();
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("health-snapshot-");
+            threadFactory.setDaemon(true);
+            scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+            long interval = refreshInterval.toMillis();
+            scheduler.scheduleWithFixedDelay(this::refresh, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        stop();
+        callback.run();
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return true;
+    }
+
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+}
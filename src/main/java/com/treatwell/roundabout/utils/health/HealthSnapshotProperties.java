@@ -0,0 +1,74 @@
+package com.treatwell.roundabout.utils.health;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for the {@link HealthSnapshotCache}, bound from the
+ * {@code roundabout.health.snapshot} prefix.
+ */
+@ConfigurationProperties("roundabout.health.snapshot")
+public class HealthSnapshotProperties {
+
+    /**
+     * Whether health checks are served from a background-refreshed snapshot rather
+     * than being executed on every request.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Delay between the end of one snapshot refresh and the start of the next.
+     */
+    private Duration refreshInterval = Duration.ofSeconds(5);
+
+    /**
+     * How long a single indicator's result may be reused across refreshes, unless
+     * overridden for that indicator in {@link #timeToLive}.
+     */
+    private Duration defaultTimeToLive = Duration.ZERO;
+
+    /**
+     * Per-indicator overrides of {@link #defaultTimeToLive}, keyed by indicator name
+     * (e.g. {@code db}, {@code diskSpace}).
+     */
+    private Map<String, Duration> timeToLive = new LinkedHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    public Duration getDefaultTimeToLive() {
+        return defaultTimeToLive;
+    }
+
+    public void setDefaultTimeToLive(Duration defaultTimeToLive) {
+        this.defaultTimeToLive = defaultTimeToLive;
+    }
+
+    public Map<String, Duration> getTimeToLive() {
+        return timeToLive;
+    }
+
+    public void setTimeToLive(Map<String, Duration> timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    public Duration getTimeToLive(String indicatorName) {
+        return timeToLive.getOrDefault(indicatorName, defaultTimeToLive);
+    }
+}
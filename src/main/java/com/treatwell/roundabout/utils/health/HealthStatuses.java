@@ -0,0 +1,19 @@
+package com.treatwell.roundabout.utils.health;
+
+import org.springframework.boot.actuate.health.Status;
+
+/**
+ * {@link Status}es used by this library in addition to Spring Boot's own.
+ */
+public final class HealthStatuses {
+
+    /**
+     * Working, but not as well as expected, e.g. too slowly. The aggregator configured by this
+     * library orders it between {@link Status#OUT_OF_SERVICE} and {@link Status#UP}, so that it
+     * makes the application as a whole DEGRADED, but never masks a DOWN component.
+     */
+    public static final Status DEGRADED = new Status("DEGRADED", "Working, but not as well as expected");
+
+    private HealthStatuses() {
+    }
+}
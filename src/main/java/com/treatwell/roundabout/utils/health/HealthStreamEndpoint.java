@@ -0,0 +1,211 @@
+package com.treatwell.roundabout.utils.health;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Controller endpoint which streams every {@link HealthTransitionEvent} to its subscribers as
+ * Server-Sent-Events, so that many watchers can follow the application's health without each
+ * of them triggering a health check.
+ *
+ * <p>The stream requires {@code roundabout.health.snapshot.enabled=true}: the
+ * {@link HealthSnapshotCache} keeps health checks running whether or not anything else polls
+ * the application, which is what produces the transitions. New subscribers are first sent the
+ * full current health from that snapshot, as a {@code snapshot} event, and then a {@code health}
+ * event for each transition. A comment is sent every {@code heartbeat-interval} so that idle
+ * connections aren't closed by proxies, and so that clients which have gone away are noticed.</p>
+ *
+ * <p>Subscriptions are held through async servlet support, so they don't occupy a request
+ * thread. Each subscriber has its own bounded buffer of undelivered events; a subscriber
+ * which lets that buffer fill up is disconnected rather than being allowed to hold up
+ * delivery, or memory, for the others.</p>
+ *
+ * <p>This is opt-in, and enabled by setting
+ * <pre>
+ * <code>
+ * roundabout.health.stream.enabled=true
+ * </code>
+ * </pre>
+ * </p>
+ */
+@RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@ConditionalOnProperty(prefix = "roundabout.health.stream", name = "enabled", havingValue = "true")
+@ConditionalOnBean(HealthSnapshotCache.class)
+@AutoConfigureAfter(HealthExecutionAutoConfiguration.class)
+@EnableConfigurationProperties(HealthStreamProperties.class)
+public class HealthStreamEndpoint implements ApplicationListener<PayloadApplicationEvent<HealthTransitionEvent>>,
+        DisposableBean {
+    private static final Logger LOG = LoggerFactory.getLogger(HealthStreamEndpoint.class);
+
+    private static final Message HEARTBEAT = new Message(null, null);
+
+    private final HealthStreamProperties properties;
+    private final HealthSnapshotCache snapshotCache;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService sender;
+    private final ScheduledExecutorService heartbeat;
+
+    public HealthStreamEndpoint(HealthStreamProperties properties, HealthSnapshotCache snapshotCache) {
+        this.properties = properties;
+        this.snapshotCache = snapshotCache;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("health-stream-");
+        threadFactory.setDaemon(true);
+        this.sender = Executors.newFixedThreadPool(properties.getSenderThreads(), threadFactory);
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        long interval = properties.getHeartbeatInterval().toMillis();
+        heartbeat.scheduleWithFixedDelay(this::sendHeartbeat, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @GetMapping(path = "/__custom/health/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        if (subscriberCount.incrementAndGet() > properties.getMaxSubscribers()) {
+            subscriberCount.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many health stream subscribers");
+        }
+        Subscriber subscriber = new Subscriber(new SseEmitter(properties.getTimeout().toMillis()));
+        subscribers.add(subscriber);
+        subscriber.offer(new Message("snapshot", snapshotCache.getSnapshot()));
+        return subscriber.emitter;
+    }
+
+    @Override
+    public void onApplicationEvent(PayloadApplicationEvent<HealthTransitionEvent> event) {
+        Message message = new Message("health", toPayload(event.getPayload()));
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(message);
+        }
+    }
+
+    private void sendHeartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(HEARTBEAT);
+        }
+    }
+
+    private static Map<String, Object> toPayload(HealthTransitionEvent transition) {
+        Map<String, Object> components = new LinkedHashMap<>();
+        transition.getChangedComponents().forEach((name, change) -> {
+            Map<String, Object> component = new LinkedHashMap<>();
+            component.put("previousStatus", change.getPreviousStatus() != null ? change.getPreviousStatus().getCode() : null);
+            component.put("status", change.getStatus() != null ? change.getStatus().getCode() : null);
+            components.put(name, component);
+        });
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("previousStatus", transition.getPreviousStatus() != null ? transition.getPreviousStatus().getCode() : null);
+        payload.put("status", transition.getStatus().getCode());
+        payload.put("changedComponents", components);
+        return payload;
+    }
+
+    @Override
+    public void destroy() {
+        heartbeat.shutdownNow();
+        sender.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        subscriberCount.set(0);
+    }
+
+    /**
+     * An event waiting to be sent to a subscriber; SSE event builders can only be built once,
+     * so one is created per subscriber at the point of sending.
+     */
+    private static final class Message {
+        private final String name;
+        private final Object data;
+
+        private Message(String name, Object data) {
+            this.name = name;
+            this.data = data;
+        }
+
+        SseEmitter.SseEventBuilder toEvent() {
+            if (name == null) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<Message> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(properties.getBufferSize());
+            emitter.onCompletion(this::remove);
+            emitter.onTimeout(this::remove);
+            emitter.onError(e -> remove());
+        }
+
+        void offer(Message message) {
+            if (!buffer.offer(message)) {
+                LOG.info("Disconnecting slow health stream subscriber with {} undelivered events", buffer.size());
+                remove();
+                emitter.complete();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Message message;
+                while ((message = buffer.poll()) != null) {
+                    emitter.send(message.toEvent());
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client has gone away, or the emitter has already been completed
+                remove();
+                buffer.clear();
+            } finally {
+                draining.set(false);
+            }
+            // Pick up anything offered between the last poll and clearing the flag
+            if (!buffer.isEmpty() && subscribers.contains(this) && draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void remove() {
+            if (subscribers.remove(this)) {
+                subscriberCount.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.treatwell.roundabout.utils.health;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for the {@link HealthStreamEndpoint}, bound from the
+ * {@code roundabout.health.stream} prefix.
+ */
+@ConfigurationProperties("roundabout.health.stream")
+public class HealthStreamProperties {
+
+    /**
+     * Whether the Server-Sent-Events health stream is exposed.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of concurrently connected subscribers; further ones are refused.
+     */
+    private int maxSubscribers = 256;
+
+    /**
+     * Number of undelivered events a subscriber may have pending before it's considered
+     * too slow and disconnected.
+     */
+    private int bufferSize = 16;
+
+    /**
+     * Number of threads writing events out to subscribers.
+     */
+    private int senderThreads = 2;
+
+    /**
+     * How long a subscription is held open before the client has to reconnect.
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /**
+     * How often a comment is sent to every subscriber to keep idle connections open.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxSubscribers() {
+        return maxSubscribers;
+    }
+
+    public void setMaxSubscribers(int maxSubscribers) {
+        this.maxSubscribers = maxSubscribers;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public int getSenderThreads() {
+        return senderThreads;
+    }
+
+    public void setSenderThreads(int senderThreads) {
+        this.senderThreads = senderThreads;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(Duration heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+}
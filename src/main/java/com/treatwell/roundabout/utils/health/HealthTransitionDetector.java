@@ -0,0 +1,116 @@
+package com.treatwell.roundabout.utils.health;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+/**
+ * Compares successive health check results, and reports a {@link HealthTransitionEvent} when
+ * either the aggregate status or the status of a component has changed.
+ *
+ * <p>To stop flapping indicators from producing a stream of transitions, a new state must be
+ * observed {@code threshold} times in a row before it's reported. The very first result is
+ * always reported immediately.</p>
+ */
+public class HealthTransitionDetector {
+    private final int threshold;
+
+    private State stable;
+    private State candidate;
+    private int candidateCount;
+
+    public HealthTransitionDetector(int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Transition threshold must be at least 1");
+        }
+        this.threshold = threshold;
+    }
+
+    /**
+     * Records the given result, returning the resulting transition if there was one, or
+     * {@code null} otherwise.
+     */
+    public synchronized HealthTransitionEvent observe(Health health) {
+        State observed = State.of(health);
+        if (observed.equals(stable)) {
+            candidate = null;
+            candidateCount = 0;
+            return null;
+        }
+        if (observed.equals(candidate)) {
+            candidateCount++;
+        } else {
+            candidate = observed;
+            candidateCount = 1;
+        }
+        if (stable != null && candidateCount < threshold) {
+            return null;
+        }
+
+        State previous = stable;
+        stable = observed;
+        candidate = null;
+        candidateCount = 0;
+        return new HealthTransitionEvent(previous != null ? previous.status : null, health,
+                observed.changesSince(previous));
+    }
+
+    private static final class State {
+        private final Status status;
+        private final Map<String, Status> components;
+
+        private State(Status status, Map<String, Status> components) {
+            this.status = status;
+            this.components = components;
+        }
+
+        static State of(Health health) {
+            Map<String, Status> components = new LinkedHashMap<>();
+            health.getDetails().forEach((name, detail) -> {
+                if (detail instanceof Health) {
+                    components.put(name, ((Health) detail).getStatus());
+                }
+            });
+            return new State(health.getStatus(), components);
+        }
+
+        Map<String, HealthTransitionEvent.ComponentTransition> changesSince(State previous) {
+            Map<String, Status> before = previous != null ? previous.components : Collections.emptyMap();
+            Set<String> names = new LinkedHashSet<>(before.keySet());
+            names.addAll(components.keySet());
+
+            Map<String, HealthTransitionEvent.ComponentTransition> changes = new LinkedHashMap<>();
+            for (String name : names) {
+                Status from = before.get(name);
+                Status to = components.get(name);
+                if (!Objects.equals(from, to)) {
+                    changes.put(name, new HealthTransitionEvent.ComponentTransition(from, to));
+                }
+            }
+            return changes;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof State)) {
+                return false;
+            }
+            State other = (State) o;
+            return status.equals(other.status) && components.equals(other.components);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(status, components);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.treatwell.roundabout.utils.health;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+/**
+ * An event class to denote that the application's health has changed, either in its aggregate
+ * {@link Status} or in the status of one or more of its components. Unlike
+ * {@link ApplicationHealthEvent}, this is only published when something has actually changed,
+ * so listeners don't need to filter out repeated results themselves.
+ */
+public class HealthTransitionEvent implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final Status previousStatus;
+    private final Health health;
+    private final Map<String, ComponentTransition> changedComponents;
+
+    public HealthTransitionEvent(Status previousStatus, Health health,
+            Map<String, ComponentTransition> changedComponents) {
+        this.previousStatus = previousStatus;
+        this.health = health;
+        this.changedComponents = Collections.unmodifiableMap(changedComponents);
+    }
+
+    /**
+     * @return the aggregate {@link Status} before this transition, or {@code null} if this is
+     * the first health check result observed.
+     */
+    public Status getPreviousStatus() {
+        return previousStatus;
+    }
+
+    /**
+     * @return the aggregate {@link Status} after this transition.
+     */
+    public Status getStatus() {
+        return health.getStatus();
+    }
+
+    /**
+     * @return the health check result which caused this transition.
+     */
+    public Health getHealth() {
+        return health;
+    }
+
+    /**
+     * @return whether the aggregate {@link Status} changed, as opposed to only some components.
+     */
+    public boolean isStatusChanged() {
+        return !Objects.equals(previousStatus, getStatus());
+    }
+
+    /**
+     * @return the components whose status changed, keyed by name.
+     */
+    public Map<String, ComponentTransition> getChangedComponents() {
+        return changedComponents;
+    }
+
+    @Override
+    public String toString() {
+        return "HealthTransitionEvent[" + previousStatus + " -> " + getStatus()
+                + ", changed=" + changedComponents + "]";
+    }
+
+    /**
+     * The change of status of a single component of the application's health.
+     */
+    public static class ComponentTransition implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final Status previousStatus;
+        private final Status status;
+
+        public ComponentTransition(Status previousStatus, Status status) {
+            this.previousStatus = previousStatus;
+            this.status = status;
+        }
+
+        /**
+         * @return the component's previous status, or {@code null} if it has just appeared.
+         */
+        public Status getPreviousStatus() {
+            return previousStatus;
+        }
+
+        /**
+         * @return the component's new status, or {@code null} if it has disappeared.
+         */
+        public Status getStatus() {
+            return status;
+        }
+
+        @Override
+        public String toString() {
+            return previousStatus + " -> " + status;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.treatwell.roundabout.utils.health;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthAggregator;
+import org.springframework.boot.actuate.health.OrderedHealthAggregator;
+import org.springframework.boot.actuate.health.Status;
+
+/**
+ * Drop-in replacement for {@link OrderedHealthAggregator}, with the same semantics (statuses
+ * missing from the order are ignored, and no known status means UNKNOWN), but which:
+ * <ul>
+ * <li>picks the aggregate status in a single pass over pre-computed ranks, rather than
+ * collecting and sorting the statuses;</li>
+ * <li>returns the previous aggregate, without recomputing anything, when every component's
+ * health is the very same instance as last time;</li>
+ * <li>otherwise re-uses the previous aggregate status, without ranking anything, when every
+ * component's status code is the same as last time.</li>
+ * </ul>
+ *
+ * <p>Components are only compared by identity and status code, never by walking their details,
+ * which may be arbitrarily large. When components are cached (see
+ * {@link TimeToLiveHealthIndicator}), or aggregates are nested as in {@link HealthGroup}s,
+ * unchanged inputs are usually the very same instances, so that only the aggregates above a
+ * changed component are rebuilt.</p>
+ */
+public class IncrementalHealthAggregator implements HealthAggregator {
+
+    /**
+     * Spring Boot's default order, with {@link HealthStatuses#DEGRADED} between
+     * OUT_OF_SERVICE and UP.
+     */
+    public static final List<String> DEFAULT_ORDER = Collections.unmodifiableList(Arrays.asList(
+            Status.DOWN.getCode(), Status.OUT_OF_SERVICE.getCode(), HealthStatuses.DEGRADED.getCode(),
+            Status.UP.getCode(), Status.UNKNOWN.getCode()));
+
+    private final Map<String, Integer> ranks = new HashMap<>();
+
+    private volatile Health last;
+
+    public IncrementalHealthAggregator() {
+        this(DEFAULT_ORDER);
+    }
+
+    public IncrementalHealthAggregator(List<String> statusOrder) {
+        for (int i = 0; i < statusOrder.size(); i++) {
+            ranks.putIfAbsent(statusOrder.get(i), i);
+        }
+    }
+
+    @Override
+    public Health aggregate(Map<String, Health> healths) {
+        Health previous = last;
+        Comparison comparison = previous != null ? compare(previous.getDetails(), healths) : Comparison.CHANGED;
+        if (comparison == Comparison.IDENTICAL) {
+            return previous;
+        }
+        Status status = comparison == Comparison.SAME_STATUSES ? previous.getStatus() : aggregateStatus(healths);
+        Health health = new Health.Builder(status, healths).build();
+        last = health;
+        return health;
+    }
+
+    private Status aggregateStatus(Map<String, Health> healths) {
+        Status status = Status.UNKNOWN;
+        int rank = Integer.MAX_VALUE;
+        for (Health health : healths.values()) {
+            Integer candidate = ranks.get(health.getStatus().getCode());
+            if (candidate != null && candidate < rank) {
+                rank = candidate;
+                status = health.getStatus();
+            }
+        }
+        return status;
+    }
+
+    private static Comparison compare(Map<String, Object> previous, Map<String, Health> healths) {
+        if (previous.size() != healths.size()) {
+            return Comparison.CHANGED;
+        }
+        Comparison comparison = Comparison.IDENTICAL;
+        for (Map.Entry<String, Health> entry : healths.entrySet()) {
+            Object old = previous.get(entry.getKey());
+            if (old == entry.getValue()) {
+                continue;
+            }
+            if (!(old instanceof Health)
+                    || !((Health) old).getStatus().getCode().equals(entry.getValue().getStatus().getCode())) {
+                return Comparison.CHANGED;
+            }
+            comparison = Comparison.SAME_STATUSES;
+        }
+        return comparison;
+    }
+
+    private enum Comparison {
+        IDENTICAL, SAME_STATUSES, CHANGED
+    }
+}
@@ -0,0 +1,80 @@
+package com.treatwell.roundabout.utils.health;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Sheds load while the application is unhealthy: requests to {@link Sheddable} handlers, and
+ * to the paths in {@code roundabout.health.shedding.paths}, are rejected with a 503, and the
+ * remaining requests are admitted up to a concurrency limit which adapts to their latency.
+ *
+ * <p>This is opt-in, and enabled by setting
+ * <pre>
+ * <code>
+ * roundabout.health.shedding.enabled=true
+ * </code>
+ * </pre>
+ * </p>
+ */
+@Configuration
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@ConditionalOnProperty(prefix = "roundabout.health.shedding", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(LoadSheddingProperties.class)
+public class LoadSheddingAutoConfiguration {
+
+    @Bean
+    public LoadSheddingFilter loadSheddingFilter(LoadSheddingProperties properties, Environment environment) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties.getInitialLimit(),
+                properties.getMinLimit(), properties.getMaxLimit(), properties.getLatencyTolerance(),
+                properties.getBackoffRatio(), properties.getLimitWindow());
+        List<String> exemptPaths = new ArrayList<>(properties.getExemptPaths());
+        exemptPaths.add(getHealthPath(environment));
+        return new LoadSheddingFilter(properties.getPaths(), exemptPaths,
+                properties.getRetryAfter().getSeconds(), limiter);
+    }
+
+    /**
+     * @return the pattern of the actuator's health endpoint, which moves with the endpoints' base path.
+     */
+    private static String getHealthPath(Environment environment) {
+        String basePath = environment.getProperty("management.endpoints.web.base-path", "/actuator");
+        basePath = StringUtils.trimTrailingCharacter(basePath.trim(), '/');
+        if (StringUtils.hasLength(basePath) && !basePath.startsWith("/")) {
+            basePath = "/" + basePath;
+        }
+        return basePath + "/health/**";
+    }
+
+    /**
+     * Registers the filter ahead of every other, so that shed requests cost as little as possible.
+     */
+    @Bean
+    public FilterRegistrationBean<LoadSheddingFilter> loadSheddingFilterRegistration(LoadSheddingFilter filter) {
+        FilterRegistrationBean<LoadSheddingFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public WebMvcConfigurer sheddableHandlerConfigurer(LoadSheddingFilter filter) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new SheddableHandlerInterceptor(filter));
+            }
+        };
+    }
+}
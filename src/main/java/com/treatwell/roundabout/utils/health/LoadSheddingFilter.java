@@ -0,0 +1,119 @@
+package com.treatwell.roundabout.utils.health;
+
+import java.io.IOException;
+import java.util.List;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.GenericFilterBean;
+import org.springframework.web.util.UrlPathHelper;
+
+import com.treatwell.roundabout.utils.health.ApplicationHealthEvent.ApplicationUnhealthyEvent;
+
+/**
+ * Servlet filter which, while the application is unhealthy (as last reported by an
+ * {@link ApplicationHealthEvent}), rejects requests to the configured paths with a 503 and a
+ * {@code Retry-After} header, and admits the remaining requests through an
+ * {@link AdaptiveConcurrencyLimiter}. While the application is healthy, every request passes
+ * straight through after a single volatile read. Requests to the exempt paths, such as the
+ * health endpoints, are never rejected.
+ *
+ * <p>As the application's health is only known when it's checked, this relies on health checks
+ * running regularly, e.g. from a load balancer or a {@link HealthSnapshotCache}. Latency is
+ * measured around the filter chain, so asynchronous requests only count their initial
+ * dispatch.</p>
+ */
+public class LoadSheddingFilter extends GenericFilterBean
+        implements ApplicationListener<PayloadApplicationEvent<? extends ApplicationHealthEvent>> {
+    private static final Logger LOG = LoggerFactory.getLogger(LoadSheddingFilter.class);
+
+    private final List<String> paths;
+    private final List<String> exemptPaths;
+    private final String retryAfter;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    private volatile boolean degraded;
+
+    public LoadSheddingFilter(List<String> paths, List<String> exemptPaths, long retryAfterSeconds,
+            AdaptiveConcurrencyLimiter limiter) {
+        this.paths = paths;
+        this.exemptPaths = exemptPaths;
+        this.retryAfter = Long.toString(retryAfterSeconds);
+        this.limiter = limiter;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (!degraded) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String path = urlPathHelper.getPathWithinApplication((HttpServletRequest) request);
+        if (matches(exemptPaths, path)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (matches(paths, path) || !limiter.tryAcquire()) {
+            reject((HttpServletResponse) response);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            limiter.release(System.nanoTime() - start);
+        }
+    }
+
+    private boolean matches(List<String> patterns, String path) {
+        for (String pattern : patterns) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Rejects the request with a 503, without a body or an error page dispatch, so that
+     * rejecting costs as little as possible.
+     */
+    void reject(HttpServletResponse response) {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+    }
+
+    @Override
+    public void onApplicationEvent(PayloadApplicationEvent<? extends ApplicationHealthEvent> event) {
+        boolean unhealthy = event.getPayload() instanceof ApplicationUnhealthyEvent;
+        // Only written on change, so that the flag's cache line isn't invalidated on every check
+        if (unhealthy != degraded) {
+            if (unhealthy) {
+                limiter.reset();
+                LOG.warn("Application is {}, shedding load", event.getPayload().getStatus());
+            } else {
+                LOG.info("Application is {}, no longer shedding load", event.getPayload().getStatus());
+            }
+            degraded = unhealthy;
+        }
+    }
+
+    public boolean isDegraded() {
+        return degraded;
+    }
+}
@@ -0,0 +1,152 @@
+package com.treatwell.roundabout.utils.health;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for the {@link LoadSheddingFilter}, bound from the
+ * {@code roundabout.health.shedding} prefix.
+ */
+@ConfigurationProperties("roundabout.health.shedding")
+public class LoadSheddingProperties {
+
+    /**
+     * Whether requests are shed and admission-controlled while the application is unhealthy.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Ant-style patterns of request paths which are rejected outright while unhealthy, in
+     * addition to the handlers annotated with {@link Sheddable}.
+     */
+    private List<String> paths = new ArrayList<>();
+
+    /**
+     * Ant-style patterns of request paths which are never shed nor limited. The actuator's
+     * health endpoint, under {@code management.endpoints.web.base-path}, is always exempt in
+     * addition to these, as it's its checks which tell that the application has recovered.
+     */
+    private List<String> exemptPaths = new ArrayList<>(Arrays.asList("/__custom/health/**"));
+
+    /**
+     * The delay after which rejected clients are told to retry, in the Retry-After header.
+     */
+    private Duration retryAfter = Duration.ofSeconds(5);
+
+    /**
+     * Number of concurrent requests admitted when the application becomes unhealthy, before
+     * the limit adapts to observed latency.
+     */
+    private int initialLimit = 20;
+
+    /**
+     * Lowest the concurrency limit may fall to.
+     */
+    private int minLimit = 1;
+
+    /**
+     * Highest the concurrency limit may grow to.
+     */
+    private int maxLimit = 200;
+
+    /**
+     * How many times the lowest latency observed a request may take before the concurrency
+     * limit is reduced.
+     */
+    private double latencyTolerance = 2.0;
+
+    /**
+     * Factor by which the concurrency limit is reduced on every request which was too slow.
+     */
+    private double backoffRatio = 0.9;
+
+    /**
+     * Period over which the lowest latency is tracked, and in which the concurrency limit is
+     * reduced at most once.
+     */
+    private Duration limitWindow = Duration.ofSeconds(10);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getPaths() {
+        return paths;
+    }
+
+    public void setPaths(List<String> paths) {
+        this.paths = paths;
+    }
+
+    public List<String> getExemptPaths() {
+        return exemptPaths;
+    }
+
+    public void setExemptPaths(List<String> exemptPaths) {
+        this.exemptPaths = exemptPaths;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    public void setRetryAfter(Duration retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public double getLatencyTolerance() {
+        return latencyTolerance;
+    }
+
+    public void setLatencyTolerance(double latencyTolerance) {
+        this.latencyTolerance = latencyTolerance;
+    }
+
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    public void setBackoffRatio(double backoffRatio) {
+        this.backoffRatio = backoffRatio;
+    }
+
+    public Duration getLimitWindow() {
+        return limitWindow;
+    }
+
+    public void setLimitWindow(Duration limitWindow) {
+        this.limitWindow = limitWindow;
+    }
+}
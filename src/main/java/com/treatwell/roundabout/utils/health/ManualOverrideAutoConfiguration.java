@@ -0,0 +1,26 @@
+package com.treatwell.roundabout.utils.health;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnEnabledEndpoint;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Exposes the audit trail of the application's {@link ManualOverrideHealthIndicator}s through a
+ * {@link ManualOverrideEndpoint}, whenever there's at least one of them.
+ */
+@Configuration
+@ConditionalOnClass(HealthIndicator.class)
+@ConditionalOnBean(ManualOverrideHealthIndicator.class)
+public class ManualOverrideAutoConfiguration {
+
+    @Bean
+    @ConditionalOnEnabledEndpoint
+    public ManualOverrideEndpoint manualOverrideEndpoint(Map<String, ManualOverrideHealthIndicator> indicators) {
+        return new ManualOverrideEndpoint(indicators);
+    }
+}
@@ -0,0 +1,39 @@
+package com.treatwell.roundabout.utils.health;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.health.HealthIndicatorNameFactory;
+
+/**
+ * Actuator endpoint exposing the current state and recent changes of every
+ * {@link ManualOverrideHealthIndicator}, keyed by indicator name, at
+ * {@code /actuator/healthoverrides} once included in
+ * {@code management.endpoints.web.exposure.include}.
+ */
+@Endpoint(id = "healthoverrides")
+public class ManualOverrideEndpoint {
+
+    private final Map<String, ManualOverrideHealthIndicator> indicators;
+
+    public ManualOverrideEndpoint(Map<String, ManualOverrideHealthIndicator> indicators) {
+        HealthIndicatorNameFactory nameFactory = new HealthIndicatorNameFactory();
+        this.indicators = new TreeMap<>();
+        indicators.forEach((beanName, indicator) -> this.indicators.put(nameFactory.apply(beanName), indicator));
+    }
+
+    @ReadOperation
+    public Map<String, Object> overrides() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        indicators.forEach((name, indicator) -> {
+            Map<String, Object> override = new LinkedHashMap<>();
+            override.put("current", indicator.getCurrent());
+            override.put("history", indicator.getHistory());
+            result.put(name, override);
+        });
+        return result;
+    }
+}
@@ -0,0 +1,139 @@
+package com.treatwell.roundabout.utils.health;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+
+/**
+ * {@link HealthIndicator} whose state is set manually at runtime, e.g. to force an instance
+ * {@link Status#OUT_OF_SERVICE} so that traffic is drained from it.
+ *
+ * <p>The status and message are swapped together as a single immutable snapshot, so
+ * concurrent readers never see one without the other, and {@link #health()} never takes a
+ * lock. The last few changes are also kept, along with when and by whom they were made, in a
+ * fixed-size, lock-free ring buffer, exposed for auditing by {@link ManualOverrideEndpoint}.
+ *
+ * <p>Each change takes the next number from a shared sequence, and the change with the highest
+ * number is the one in effect, so that concurrent changes agree with the history on which came
+ * last. A slot of the ring buffer is only ever replaced by a later change, so a writer delayed
+ * for a whole lap of the buffer can't overwrite a newer change with its older one.</p>
+ */
+public class ManualOverrideHealthIndicator implements HealthIndicator {
+    public static final int DEFAULT_HISTORY_SIZE = 32;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicReferenceArray<Change> history;
+    private final AtomicReference<Change> current = new AtomicReference<>();
+
+    public ManualOverrideHealthIndicator() {
+        this(Status.UP, "All working well!", DEFAULT_HISTORY_SIZE);
+    }
+
+    public ManualOverrideHealthIndicator(Status status, String message, int historySize) {
+        if (historySize < 1) {
+            throw new IllegalArgumentException("History size must be at least 1");
+        }
+        this.history = new AtomicReferenceArray<>(historySize);
+        update(status, message, "initial");
+    }
+
+    @Override
+    public Health health() {
+        return current.get().health;
+    }
+
+    /**
+     * Replaces the current state, recording the change in the history.
+     *
+     * @param changedBy free-form description of who made the change, for auditing
+     * @return the change which was recorded
+     */
+    public Change update(Status status, String message, String changedBy) {
+        long seq = sequence.getAndIncrement();
+        Change change = new Change(seq, Instant.now(), status, message, changedBy);
+        int slot = (int) (seq % history.length());
+        Change replaced;
+        do {
+            replaced = history.get(slot);
+        } while ((replaced == null || replaced.sequence < seq) && !history.compareAndSet(slot, replaced, change));
+        current.accumulateAndGet(change, (existing, updated) ->
+                existing == null || updated.sequence > existing.sequence ? updated : existing);
+        return change;
+    }
+
+    /**
+     * @return the current state.
+     */
+    public Change getCurrent() {
+        return current.get();
+    }
+
+    /**
+     * @return the most recent changes, newest first.
+     */
+    public List<Change> getHistory() {
+        List<Change> changes = new ArrayList<>(history.length());
+        for (int i = 0; i < history.length(); i++) {
+            Change change = history.get(i);
+            if (change != null) {
+                changes.add(change);
+            }
+        }
+        changes.sort(Comparator.comparingLong(Change::getSequence).reversed());
+        return changes;
+    }
+
+    /**
+     * A single, immutable state of the indicator, and how it came to be.
+     */
+    public static final class Change {
+        private final long sequence;
+        private final Instant timestamp;
+        private final Status status;
+        private final String message;
+        private final String changedBy;
+        private final Health health;
+
+        private Change(long sequence, Instant timestamp, Status status, String message, String changedBy) {
+            this.sequence = sequence;
+            this.timestamp = timestamp;
+            this.status = status;
+            this.message = message;
+            this.changedBy = changedBy;
+            this.health = Health.status(status).withDetail("message", message).build();
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public Instant getTimestamp() {
+            return timestamp;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public String getChangedBy() {
+            return changedBy;
+        }
+
+        @Override
+        public String toString() {
+            return "#" + sequence + " " + timestamp + " " + status + " (" + message + ") by " + changedBy;
+        }
+    }
+}
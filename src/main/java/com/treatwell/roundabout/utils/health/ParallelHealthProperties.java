@@ -0,0 +1,96 @@
+package com.treatwell.roundabout.utils.health;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for the {@link HealthIndicatorExecutor}, bound from the
+ * {@code roundabout.health.parallel} prefix.
+ */
+@ConfigurationProperties("roundabout.health.parallel")
+public class ParallelHealthProperties {
+
+    /**
+     * Whether health indicators are executed concurrently, each with a deadline.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of indicators executing at the same time.
+     */
+    private int poolSize = 4;
+
+    /**
+     * Number of indicator executions which may wait for a free thread before further
+     * ones are rejected (and reported as DOWN).
+     */
+    private int queueCapacity = 100;
+
+    /**
+     * Deadline for each indicator, measured from the start of the health check, unless
+     * overridden for that indicator in {@link #timeouts}.
+     */
+    private Duration timeout = Duration.ofSeconds(10);
+
+    /**
+     * Per-indicator overrides of {@link #timeout}, keyed by indicator name.
+     */
+    private Map<String, Duration> timeouts = new LinkedHashMap<>();
+
+    /**
+     * Status code reported for an indicator which misses its deadline.
+     */
+    private String timeoutStatus = Status.DOWN.getCode();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public Map<String, Duration> getTimeouts() {
+        return timeouts;
+    }
+
+    public void setTimeouts(Map<String, Duration> timeouts) {
+        this.timeouts = timeouts;
+    }
+
+    public String getTimeoutStatus() {
+        return timeoutStatus;
+    }
+
+    public void setTimeoutStatus(String timeoutStatus) {
+        this.timeoutStatus = timeoutStatus;
+    }
+}
@@ -0,0 +1,18 @@
+package com.treatwell.roundabout.utils.health;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a controller, or a single handler method, as non-critical: while the application is
+ * unhealthy, its requests are rejected with a 503 by the {@link SheddableHandlerInterceptor},
+ * leaving capacity for the requests that matter.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.TYPE, ElementType.METHOD })
+public @interface Sheddable {
+}
@@ -0,0 +1,35 @@
+package com.treatwell.roundabout.utils.health;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+/**
+ * Rejects requests to handlers annotated with {@link Sheddable} while the
+ * {@link LoadSheddingFilter} reports the application as degraded. While healthy, this is a
+ * single volatile read.
+ */
+public class SheddableHandlerInterceptor extends HandlerInterceptorAdapter {
+    private final LoadSheddingFilter filter;
+
+    public SheddableHandlerInterceptor(LoadSheddingFilter filter) {
+        this.filter = filter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!filter.isDegraded() || !(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        HandlerMethod method = (HandlerMethod) handler;
+        if (method.hasMethodAnnotation(Sheddable.class)
+                || AnnotatedElementUtils.hasAnnotation(method.getBeanType(), Sheddable.class)) {
+            filter.reject(response);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,44 @@
+package com.treatwell.roundabout.utils.health;
+
+import java.time.Duration;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * {@link HealthIndicator} wrapper which re-uses the underlying indicator's last result
+ * until it is older than the configured time-to-live. Expensive indicators (such as
+ * those querying a database) can therefore be checked less often than cheap ones.
+ */
+public class TimeToLiveHealthIndicator implements HealthIndicator {
+    private final HealthIndicator delegate;
+    private final long timeToLiveNanos;
+
+    private volatile TimestampedHealth last;
+
+    public TimeToLiveHealthIndicator(HealthIndicator delegate, Duration timeToLive) {
+        this.delegate = delegate;
+        this.timeToLiveNanos = timeToLive.toNanos();
+    }
+
+    @Override
+    public Health health() {
+        TimestampedHealth current = last;
+        long now = System.nanoTime();
+        if (current == null || now - current.timestamp >= timeToLiveNanos) {
+            current = new TimestampedHealth(delegate.health(), now);
+            last = current;
+        }
+        return current.health;
+    }
+
+    private static final class TimestampedHealth {
+        private final Health health;
+        private final long timestamp;
+
+        private TimestampedHealth(Health health, long timestamp) {
+            this.health = health;
+            this.timestamp = timestamp;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.treatwell.roundabout.utils.health;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+
+/**
+ * {@link HealthIndicator} wrapper which records every execution of the underlying indicator
+ * into {@link HealthMetrics}. An indicator which throws is recorded as {@link Status#DOWN}.
+ */
+public class TimedHealthIndicator implements HealthIndicator {
+    private final HealthIndicator delegate;
+    private final HealthMetrics.IndicatorMetrics metrics;
+
+    public TimedHealthIndicator(HealthIndicator delegate, HealthMetrics.IndicatorMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Health health() {
+        long start = System.nanoTime();
+        Health health;
+        try {
+            health = delegate.health();
+        } catch (RuntimeException e) {
+            metrics.record(System.nanoTime() - start, Status.DOWN);
+            throw e;
+        }
+        metrics.record(System.nanoTime() - start, health.getStatus());
+        return health;
+    }
+}
@@ -0,0 +1,119 @@
+package com.treatwell.roundabout.utils.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size, lock-free latency histogram using HDR-style log-linear buckets: every power of
+ * two is split into {@value #SUB_BUCKETS} equal sub-buckets, so recorded values are kept to
+ * within ~6% precision across the full range of a {@code long}.
+ *
+ * <p>Recording performs no allocation and takes no locks, and the count and total are striped
+ * so that concurrent recorders don't contend on them, so it's cheap enough to leave on
+ * permanently on hot paths. Values are accumulated for the lifetime of the histogram.</p>
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a single latency, in nanoseconds. Negative values are recorded as zero.
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        counts.incrementAndGet(indexOf(value));
+        count.increment();
+        total.add(value);
+        long currentMax;
+        while (value > (currentMax = max.get()) && !max.compareAndSet(currentMax, value)) {
+            // Retry until we either win, or another thread records a greater maximum
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotal(TimeUnit unit) {
+        return unit.convert(total.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    public double getMean(TimeUnit unit) {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) total.sum() / n / unit.toNanos(1);
+    }
+
+    public double getMax(TimeUnit unit) {
+        return (double) max.get() / unit.toNanos(1);
+    }
+
+    /**
+     * @param quantile between 0 and 1, e.g. {@code 0.99}
+     * @return the (upper bound of the bucket of the) value at the given quantile, or 0 if
+     * nothing has been recorded.
+     */
+    public double getValueAtQuantile(double quantile, TimeUnit unit) {
+        long[] snapshot = new long[BUCKETS];
+        long recorded = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            recorded += snapshot[i];
+        }
+        if (recorded == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(quantile * recorded));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= target) {
+                return (double) Math.min(highestValueIn(i), max.get()) / unit.toNanos(1);
+            }
+        }
+        return getMax(unit);
+    }
+
+    /**
+     * @return a summary of this histogram, in milliseconds, suitable for exposing over an
+     * endpoint.
+     */
+    public Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", getCount());
+        summary.put("meanMs", getMean(TimeUnit.MILLISECONDS));
+        summary.put("p50Ms", getValueAtQuantile(0.5, TimeUnit.MILLISECONDS));
+        summary.put("p90Ms", getValueAtQuantile(0.9, TimeUnit.MILLISECONDS));
+        summary.put("p99Ms", getValueAtQuantile(0.99, TimeUnit.MILLISECONDS));
+        summary.put("maxMs", getMax(TimeUnit.MILLISECONDS));
+        return summary;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long highestValueIn(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,159 @@
+package com.treatwell.roundabout.utils.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registry of per-route request metrics: latency, requests in flight, throughput and errors.
+ * Routes are keyed by HTTP method and route template (e.g. {@code GET /users/{id}}) rather
+ * than by raw path, and their number is capped, with any further routes counted together under
+ * {@link #OTHER}, so that the registry's size stays bounded however varied the requests. The cap
+ * is enforced while creating each route, so concurrent requests to new routes can't exceed it.
+ */
+public class RouteMetrics {
+    public static final String UNMAPPED = "UNMAPPED";
+    public static final String OTHER = "OTHER";
+
+    private final ConcurrentMap<String, Route> routes = new ConcurrentHashMap<>();
+    private final AtomicInteger routeCount = new AtomicInteger();
+    private final int maxRoutes;
+    private final long windowNanos;
+
+    /**
+     * @param window how long each latency window lasts, see {@link Route#getLastWindow()}
+     */
+    public RouteMetrics(int maxRoutes, long window, TimeUnit unit) {
+        this.maxRoutes = maxRoutes;
+        this.windowNanos = unit.toNanos(window);
+    }
+
+    /**
+     * @return the metrics for the given route, creating them if necessary.
+     */
+    public Route route(String name) {
+        Route route = routes.get(name);
+        if (route == null) {
+            route = routes.computeIfAbsent(name, this::newRoute);
+        }
+        if (route == null) {
+            route = routes.computeIfAbsent(OTHER, k -> new Route(k, windowNanos));
+        }
+        return route;
+    }
+
+    /**
+     * @return a new route, or {@code null} (so that nothing is added) if there are already
+     * {@code maxRoutes} of them.
+     */
+    private Route newRoute(String name) {
+        if (routeCount.getAndIncrement() < maxRoutes) {
+            return new Route(name, windowNanos);
+        }
+        routeCount.decrementAndGet();
+        return null;
+    }
+
+    public Map<String, Route> getRoutes() {
+        return routes;
+    }
+
+    /**
+     * Metrics for a single route. Recording is lock-free: every counter is striped, and the
+     * histograms are themselves lock-free.
+     */
+    public static final class Route {
+        private final String name;
+        private final long windowNanos;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder inFlight = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        private volatile LatencyHistogram window = new LatencyHistogram();
+        private volatile LatencyHistogram lastWindow = new LatencyHistogram();
+        private volatile long windowStart = System.nanoTime();
+
+        private long rateSampleTime = System.nanoTime();
+        private long rateSampleCount = 0;
+        private double rate = 0;
+
+        private Route(String name, long windowNanos) {
+            this.name = name;
+            this.windowNanos = windowNanos;
+        }
+
+        public void started() {
+            inFlight.increment();
+        }
+
+        /**
+         * Records a completed request. This performs no allocation.
+         */
+        public void completed(long nanos, boolean error) {
+            inFlight.decrement();
+            latency.record(nanos);
+            window.record(nanos);
+            if (error) {
+                errors.increment();
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the latency of every request since startup.
+         */
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        /**
+         * @return the latency of the requests in the last complete window, so that recent
+         * latency can be judged without being diluted by the application's whole history.
+         * Windows are consecutive, and rotated when read: if more than one has passed since the
+         * last rotation, then the last complete window saw no requests, and is empty.
+         */
+        public LatencyHistogram getLastWindow() {
+            if (System.nanoTime() - windowStart >= windowNanos) {
+                synchronized (this) {
+                    long elapsedWindows = (System.nanoTime() - windowStart) / windowNanos;
+                    if (elapsedWindows > 0) {
+                        lastWindow = elapsedWindows == 1 ? window : new LatencyHistogram();
+                        window = new LatencyHistogram();
+                        windowStart += elapsedWindows * windowNanos;
+                    }
+                }
+            }
+            return lastWindow;
+        }
+
+        public long getInFlight() {
+            return inFlight.sum();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        /**
+         * @return the requests per second, averaged over roughly the time since this was
+         * last called.
+         */
+        public synchronized double getRate() {
+            long now = System.nanoTime();
+            long elapsed = now - rateSampleTime;
+            if (elapsed >= TimeUnit.SECONDS.toNanos(1)) {
+                long count = latency.getCount();
+                rate = (count - rateSampleCount) * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+                rateSampleCount = count;
+                rateSampleTime = now;
+            }
+            return rate;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.treatwell.roundabout.utils.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnEnabledEndpoint;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Records the latency, throughput and errors of every Spring MVC route into {@link RouteMetrics},
+ * and exposes them through an actuator endpoint. Setting
+ * {@code roundabout.metrics.routes.slo.p99} adds a {@link RouteSloHealthIndicator}.
+ *
+ * <p>This is opt-in, and enabled by setting
+ * <pre>
+ * <code>
+ * roundabout.metrics.routes.enabled=true
+ * </code>
+ * </pre>
+ * </p>
+ */
+@Configuration
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@ConditionalOnProperty(prefix = "roundabout.metrics.routes", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(RouteMetricsProperties.class)
+public class RouteMetricsAutoConfiguration {
+
+    @Bean
+    public RouteMetrics routeMetrics(RouteMetricsProperties properties) {
+        return new RouteMetrics(properties.getMaxRoutes(), properties.getWindow().toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Bean
+    public WebMvcConfigurer routeMetricsConfigurer(RouteMetrics routeMetrics) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new RouteMetricsInterceptor(routeMetrics));
+            }
+        };
+    }
+
+    @Configuration
+    @ConditionalOnClass(HealthIndicator.class)
+    static class ActuatorConfiguration {
+
+        @Bean
+        @ConditionalOnEnabledEndpoint
+        public RouteMetricsEndpoint routeMetricsEndpoint(RouteMetrics routeMetrics) {
+            return new RouteMetricsEndpoint(routeMetrics);
+        }
+
+        @Bean
+        @ConditionalOnProperty(prefix = "roundabout.metrics.routes.slo", name = "p99")
+        public RouteSloHealthIndicator routeSloHealthIndicator(RouteMetrics routeMetrics,
+                RouteMetricsProperties properties) {
+            return new RouteSloHealthIndicator(routeMetrics, properties.getSlo().getP99(),
+                    properties.getSlo().getMinimumRequests());
+        }
+    }
+}
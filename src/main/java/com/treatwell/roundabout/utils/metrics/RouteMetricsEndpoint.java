@@ -0,0 +1,37 @@
+package com.treatwell.roundabout.utils.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Actuator endpoint exposing the {@link RouteMetrics}, at {@code /actuator/routemetrics} once
+ * included in {@code management.endpoints.web.exposure.include}.
+ */
+@Endpoint(id = "routemetrics")
+public class RouteMetricsEndpoint {
+
+    private final RouteMetrics routeMetrics;
+
+    public RouteMetricsEndpoint(RouteMetrics routeMetrics) {
+        this.routeMetrics = routeMetrics;
+    }
+
+    @ReadOperation
+    public Map<String, Object> routes() {
+        Map<String, Object> routes = new TreeMap<>();
+        routeMetrics.getRoutes().forEach((name, metrics) -> {
+            Map<String, Object> route = new LinkedHashMap<>();
+            route.put("inFlight", metrics.getInFlight());
+            route.put("rate", metrics.getRate());
+            route.put("errors", metrics.getErrors());
+            route.put("latency", metrics.getLatency().summary());
+            route.put("lastWindow", metrics.getLastWindow().summary());
+            routes.put(name, route);
+        });
+        return routes;
+    }
+}
@@ -0,0 +1,49 @@
+package com.treatwell.roundabout.utils.metrics;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+/**
+ * Records every request handled by Spring MVC into {@link RouteMetrics}, under its HTTP method
+ * and the pattern of the handler mapping which matched it. Asynchronous requests are timed from
+ * their initial dispatch until they complete.
+ */
+public class RouteMetricsInterceptor extends HandlerInterceptorAdapter {
+    private static final String ROUTE_ATTRIBUTE = RouteMetricsInterceptor.class.getName() + ".route";
+    private static final String START_ATTRIBUTE = RouteMetricsInterceptor.class.getName() + ".start";
+
+    private final RouteMetrics routeMetrics;
+
+    public RouteMetricsInterceptor(RouteMetrics routeMetrics) {
+        this.routeMetrics = routeMetrics;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Async dispatches come back through here, but were already started by the initial one
+        if (request.getAttribute(START_ATTRIBUTE) == null) {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            RouteMetrics.Route route = routeMetrics.route(
+                    request.getMethod() + " " + (pattern != null ? pattern : RouteMetrics.UNMAPPED));
+            route.started();
+            request.setAttribute(ROUTE_ATTRIBUTE, route);
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        Object route = request.getAttribute(ROUTE_ATTRIBUTE);
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (route instanceof RouteMetrics.Route && start instanceof Long) {
+            request.removeAttribute(ROUTE_ATTRIBUTE);
+            ((RouteMetrics.Route) route).completed(System.nanoTime() - (Long) start,
+                    ex != null || response.getStatus() >= 500);
+        }
+    }
+}
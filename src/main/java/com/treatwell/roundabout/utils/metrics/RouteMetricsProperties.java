@@ -0,0 +1,88 @@
+package com.treatwell.roundabout.utils.metrics;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for the {@link RouteMetrics}, bound from the {@code roundabout.metrics.routes}
+ * prefix.
+ */
+@ConfigurationProperties("roundabout.metrics.routes")
+public class RouteMetricsProperties {
+
+    /**
+     * Whether the latency and throughput of every route is recorded.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of distinct routes to record, beyond which routes are counted together.
+     */
+    private int maxRoutes = 200;
+
+    /**
+     * Duration of the latency windows over which the latency objective is judged.
+     */
+    private Duration window = Duration.ofMinutes(1);
+
+    private final Slo slo = new Slo();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxRoutes() {
+        return maxRoutes;
+    }
+
+    public void setMaxRoutes(int maxRoutes) {
+        this.maxRoutes = maxRoutes;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    public Slo getSlo() {
+        return slo;
+    }
+
+    public static class Slo {
+
+        /**
+         * 99th percentile latency objective for every route. Setting it enables the
+         * {@link RouteSloHealthIndicator}.
+         */
+        private Duration p99;
+
+        /**
+         * Number of requests a window must have for a route's objective to be judged.
+         */
+        private long minimumRequests = 100;
+
+        public Duration getP99() {
+            return p99;
+        }
+
+        public void setP99(Duration p99) {
+            this.p99 = p99;
+        }
+
+        public long getMinimumRequests() {
+            return minimumRequests;
+        }
+
+        public void setMinimumRequests(long minimumRequests) {
+            this.minimumRequests = minimumRequests;
+        }
+    }
+}
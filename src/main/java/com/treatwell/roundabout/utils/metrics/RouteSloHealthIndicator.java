@@ -0,0 +1,47 @@
+package com.treatwell.roundabout.utils.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+
+import com.treatwell.roundabout.utils.health.HealthStatuses;
+
+/**
+ * {@link HealthIndicator} reporting {@link HealthStatuses#DEGRADED} when any route's 99th percentile latency,
+ * over the last complete window of {@link RouteMetrics}, exceeds the configured objective.
+ * Windows with fewer requests than the configured minimum are too noisy to judge, and ignored.
+ *
+ * <p>The aggregator configured by this library orders DEGRADED between
+ * {@link Status#OUT_OF_SERVICE} and {@link Status#UP}, so that a breached objective makes the
+ * application as a whole DEGRADED, but never masks a DOWN component.</p>
+ */
+public class RouteSloHealthIndicator extends AbstractHealthIndicator {
+    private final RouteMetrics routeMetrics;
+    private final long p99Nanos;
+    private final long minimumRequests;
+
+    public RouteSloHealthIndicator(RouteMetrics routeMetrics, Duration p99, long minimumRequests) {
+        super("Route latency objective check failed");
+        this.routeMetrics = routeMetrics;
+        this.p99Nanos = p99.toNanos();
+        this.minimumRequests = minimumRequests;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        builder.up().withDetail("p99ObjectiveMs", TimeUnit.NANOSECONDS.toMillis(p99Nanos));
+        routeMetrics.getRoutes().forEach((name, route) -> {
+            LatencyHistogram window = route.getLastWindow();
+            if (window.getCount() >= minimumRequests) {
+                double p99 = window.getValueAtQuantile(0.99, TimeUnit.NANOSECONDS);
+                if (p99 > p99Nanos) {
+                    builder.status(HealthStatuses.DEGRADED).withDetail(name, p99 / TimeUnit.MILLISECONDS.toNanos(1));
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,123 @@
+package com.treatwell.roundabout.utils.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Root;
+
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository base class implementing {@link BulkOperationsRepository}.
+ *
+ * <p>The batch size is taken from the {@code hibernate.jdbc.batch_size} property of the
+ * persistence unit, so that each flush sends exactly one JDBC batch per statement type, falling
+ * back to {@value #DEFAULT_BATCH_SIZE} if it's not set. A batch size of zero or less disables
+ * batching, as it does for Hibernate: entities are then only flushed once all have been saved.
+ * The same size is used as the JDBC fetch size when streaming. Note that some drivers (e.g.
+ * MySQL) ignore the fetch size unless configured to use server-side cursors.</p>
+ */
+public class BulkOperationsJpaRepository<T, ID> extends SimpleJpaRepository<T, ID>
+        implements BulkOperationsRepository<T, ID> {
+    public static final String BATCH_SIZE_PROPERTY = "hibernate.jdbc.batch_size";
+    public static final int DEFAULT_BATCH_SIZE = 50;
+    private static final String FETCH_SIZE_HINT = "org.hibernate.fetchSize";
+    private static final String READ_ONLY_HINT = "org.hibernate.readOnly";
+
+    private final JpaEntityInformation<T, ?> entityInformation;
+    private final EntityManager entityManager;
+    private final int batchSize;
+
+    public BulkOperationsJpaRepository(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityInformation = entityInformation;
+        this.entityManager = entityManager;
+        Object batchSize = entityManager.getEntityManagerFactory().getProperties().get(BATCH_SIZE_PROPERTY);
+        this.batchSize = batchSize != null ? Integer.parseInt(batchSize.toString()) : DEFAULT_BATCH_SIZE;
+    }
+
+    @Override
+    @Transactional
+    public <S extends T> long saveInBatches(Iterable<S> entities) {
+        // Only the entities this call brought into the persistence context are detached, rather
+        // than clearing it, so that the caller's own managed entities are left alone
+        List<Object> batch = new ArrayList<>(Math.max(batchSize, 16));
+        long count = 0;
+        for (S entity : entities) {
+            // Entities the caller already has managed are flushed with the batch, but stay managed
+            if (!entityManager.contains(entity)) {
+                if (entityInformation.isNew(entity)) {
+                    entityManager.persist(entity);
+                    batch.add(entity);
+                } else {
+                    batch.add(entityManager.merge(entity));
+                }
+            }
+            count++;
+            if (batchSize > 0 && count % batchSize == 0) {
+                flushAndDetach(batch);
+            }
+        }
+        flushAndDetach(batch);
+        return count;
+    }
+
+    private void flushAndDetach(List<Object> batch) {
+        entityManager.flush();
+        batch.forEach(entityManager::detach);
+        batch.clear();
+    }
+
+    @Override
+    public Stream<T> streamAll() {
+        CriteriaQuery<T> criteria = entityManager.getCriteriaBuilder().createQuery(getDomainClass());
+        criteria.select(criteria.from(getDomainClass()));
+        TypedQuery<T> query = entityManager.createQuery(criteria)
+                .setHint(READ_ONLY_HINT, true);
+        if (batchSize > 0) {
+            query.setHint(FETCH_SIZE_HINT, batchSize);
+        }
+        // Hibernate's own stream is backed by a scrollable cursor, whereas the JPA default would
+        // read the whole result list first
+        @SuppressWarnings("unchecked")
+        Stream<T> stream = query.unwrap(org.hibernate.query.Query.class).stream();
+        return stream.map(entity -> {
+            entityManager.detach(entity);
+            return entity;
+        });
+    }
+
+    @Override
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public List<T> findAllAfter(ID lastId, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> criteria = builder.createQuery(getDomainClass());
+        Root<T> root = criteria.from(getDomainClass());
+        Path<Comparable> id = root.get(entityInformation.getIdAttribute().getName());
+        if (lastId != null) {
+            criteria.where(builder.greaterThan(id, (Comparable) lastId));
+        }
+        criteria.select(root).orderBy(builder.asc(id));
+        return entityManager.createQuery(criteria).setMaxResults(limit).getResultList();
+    }
+
+    protected JpaEntityInformation<T, ?> getEntityInformation() {
+        return entityInformation;
+    }
+
+    protected EntityManager getEntityManager() {
+        return entityManager;
+    }
+
+    protected int getBatchSize() {
+        return batchSize;
+    }
+}
@@ -0,0 +1,59 @@
+package com.treatwell.roundabout.utils.repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.NoRepositoryBean;
+
+/**
+ * {@link CrudRepository} extension with operations suited to large volumes of entities. To use
+ * it, extend this interface rather than {@link CrudRepository}, and declare
+ * {@link BulkOperationsJpaRepository} as the repository base class:
+ * <pre>
+ * <code>
+ * &#64;EnableJpaRepositories(repositoryBaseClass = BulkOperationsJpaRepository.class)
+ * </code>
+ * </pre>
+ */
+@NoRepositoryBean
+public interface BulkOperationsRepository<T, ID> extends CrudRepository<T, ID> {
+
+    /**
+     * Saves the given entities in JDBC batches, flushing after every batch and then detaching
+     * the entities it saved, so that memory use stays flat however many entities are given.
+     * Unlike {@link #saveAll(Iterable)}, the saved instances aren't returned, and are detached
+     * once this returns, unless they were already managed when given. Other entities in the
+     * persistence context, including any the caller loaded in the same transaction, and any
+     * reached by cascading, are left managed.
+     *
+     * <p>For inserts to actually be batched, the entity's ids must not be generated by the
+     * database (i.e. not {@code IDENTITY}), and {@code hibernate.jdbc.batch_size} must be set.</p>
+     *
+     * @param entities may be lazily produced, and are only iterated once
+     * @return the number of entities saved
+     */
+    <S extends T> long saveInBatches(Iterable<S> entities);
+
+    /**
+     * Streams every entity from a server-side cursor, fetching rows from the database in
+     * batches, and detaching each entity from the persistence context as it's read, so that
+     * memory use stays flat however large the table is. Unlike {@link #findAll()}, the
+     * persistence context therefore never holds more than a single entity.
+     *
+     * <p>This must be called within a (preferably read-only) transaction, which must remain open
+     * until the stream has been consumed, and the stream must be closed once done with. As the
+     * entities are detached, lazy associations can't be loaded from them.</p>
+     */
+    Stream<T> streamAll();
+
+    /**
+     * Keyset pagination: returns up to {@code limit} entities ordered by id, starting after the
+     * given id. Unlike offset-based paging, every page costs the same to fetch however deep into
+     * the table it is. Pass the id of the last entity of one page to get the next.
+     *
+     * @param lastId the id of the last entity of the previous page, or {@code null} for the
+     * first page. Ids must be {@link Comparable}.
+     */
+    List<T> findAllAfter(ID lastId, int limit);
+}
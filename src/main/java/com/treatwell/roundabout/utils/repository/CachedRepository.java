@@ -0,0 +1,52 @@
+package com.treatwell.roundabout.utils.repository;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a Spring Data repository interface whose {@code findById} lookups should be served
+ * from an in-process {@link RepositoryCache}. Saves and deletes made through the repository
+ * invalidate the affected ids, both immediately and once the surrounding transaction
+ * completes.
+ *
+ * <p>Cached entities are detached and shared between callers, and so must be treated as
+ * immutable. Changes made through anything other than the repository itself (bulk
+ * {@code @Modifying} queries, other applications) are only seen once the cached entries
+ * expire.</p>
+ *
+ * <p>The cache is bypassed whenever an {@code EntityManager} is already bound to the calling
+ * thread, which includes every web request while {@code spring.jpa.open-in-view} is left
+ * enabled: set it to {@code false} for web requests to use the cache.</p>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface CachedRepository {
+
+    /**
+     * The maximum number of ids to cache, beyond which the entries closest to expiry are
+     * evicted first.
+     */
+    int maximumSize() default 10_000;
+
+    /**
+     * How long an entity is cached for, in ISO-8601 format (e.g. {@code PT5M}).
+     */
+    String timeToLive() default "PT5M";
+
+    /**
+     * Whether ids that weren't found are also cached, so that repeated lookups of missing ids
+     * don't reach the database either.
+     */
+    boolean cacheMissing() default true;
+
+    /**
+     * How long an id that wasn't found is cached for, in ISO-8601 format. Usually shorter than
+     * {@link #timeToLive()}, as entities created outside the repository are only seen once the
+     * negative entry expires.
+     */
+    String missingTimeToLive() default "PT30S";
+}
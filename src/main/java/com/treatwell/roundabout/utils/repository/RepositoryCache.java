@@ -0,0 +1,186 @@
+package com.treatwell.roundabout.utils.repository;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, expiring cache of entities by id, where a missing entity is cached as an empty
+ * {@link Optional}. Lookups are lock-free; once full, each insertion evicts the entry closest to
+ * expiry. Entries are kept ordered by expiry as they're written, rather than in a strict LRU
+ * order that every reader would have to update.
+ *
+ * <p>Every invalidation advances a generation counter. A value loaded from the database is only
+ * cached if no invalidation happened while it was being loaded, so that a concurrent write
+ * can't be overwritten by the stale value read just before it.</p>
+ */
+public class RepositoryCache {
+    private static final Comparator<Entry> EXPIRY_ORDER = (a, b) -> {
+        int order = Long.signum(a.expiresAt - b.expiresAt);
+        return order != 0 ? order : Long.compare(a.sequence, b.sequence);
+    };
+
+    private final String name;
+    private final int maximumSize;
+    private final long timeToLiveNanos;
+    private final long missingTimeToLiveNanos;
+    private final boolean cacheMissing;
+
+    private final ConcurrentMap<Object, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Entry> expiryOrder = new ConcurrentSkipListSet<>(EXPIRY_ORDER);
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public RepositoryCache(String name, int maximumSize, Duration timeToLive, boolean cacheMissing,
+            Duration missingTimeToLive) {
+        this.name = name;
+        this.maximumSize = maximumSize;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.cacheMissing = cacheMissing;
+        this.missingTimeToLiveNanos = missingTimeToLive.toNanos();
+    }
+
+    /**
+     * @return the cached value, which is empty if the id is known to be missing, or
+     * {@code null} if the id isn't cached.
+     */
+    public Optional<?> get(Object id) {
+        Entry entry = entries.get(id);
+        if (entry != null) {
+            if (entry.expiresAt - System.nanoTime() > 0) {
+                hits.increment();
+                return entry.value;
+            }
+            if (entries.remove(id, entry)) {
+                expiryOrder.remove(entry);
+                evictions.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * @return the generation to pass to {@link #put(Object, Optional, long)} for a value about
+     * to be loaded.
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Caches the given value, unless the cache was invalidated since {@code loadGeneration}.
+     */
+    public void put(Object id, Optional<?> value, long loadGeneration) {
+        if (id == null || (!value.isPresent() && !cacheMissing)) {
+            return;
+        }
+        if (entries.size() >= maximumSize && !entries.containsKey(id)) {
+            evictOne();
+        }
+        long timeToLive = value.isPresent() ? timeToLiveNanos : missingTimeToLiveNanos;
+        Entry entry = new Entry(id, value, System.nanoTime() + timeToLive, sequence.incrementAndGet());
+        expiryOrder.add(entry);
+        forget(entries.put(id, entry));
+        if (generation.get() != loadGeneration) {
+            // Invalidated while loading (or while caching): the value may already be stale
+            forget(entries.remove(id));
+        }
+    }
+
+    public void invalidate(Object id) {
+        generation.incrementAndGet();
+        invalidations.increment();
+        if (id != null) {
+            forget(entries.remove(id));
+        }
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        invalidations.increment();
+        for (Iterator<Entry> iterator = entries.values().iterator(); iterator.hasNext();) {
+            Entry entry = iterator.next();
+            iterator.remove();
+            forget(entry);
+        }
+    }
+
+    private void evictOne() {
+        Entry oldest;
+        while ((oldest = expiryOrder.pollFirst()) != null) {
+            // Entries replaced or removed concurrently may linger in the expiry order; skip them
+            if (entries.remove(oldest.id, oldest)) {
+                evictions.increment();
+                return;
+            }
+        }
+    }
+
+    private void forget(Entry removed) {
+        if (removed != null) {
+            expiryOrder.remove(removed);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getSize() {
+        return entries.size();
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    /**
+     * @return the proportion of lookups served from the cache since startup, or 0 if none.
+     */
+    public double getHitRate() {
+        long hitCount = getHits();
+        long total = hitCount + getMisses();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    private static final class Entry {
+        private final Object id;
+        private final Optional<?> value;
+        private final long expiresAt;
+        private final long sequence;
+
+        private Entry(Object id, Optional<?> value, long expiresAt, long sequence) {
+            this.id = id;
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.treatwell.roundabout.utils.repository;
+
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnEnabledEndpoint;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.Repository;
+
+/**
+ * Caches the lookups of every repository annotated with {@link CachedRepository}, and exposes
+ * the caches' statistics through an actuator endpoint.
+ *
+ * <p>Reporting a collapsed hit rate as DEGRADED is opt-in, and enabled by setting
+ * <pre>
+ * <code>
+ * roundabout.repository-cache.health.enabled=true
+ * </code>
+ * </pre>
+ * </p>
+ */
+@Configuration
+@ConditionalOnClass(Repository.class)
+public class RepositoryCacheAutoConfiguration {
+
+    /**
+     * Declared static, as it's a bean post-processor.
+     */
+    @Bean
+    public static RepositoryCachePostProcessor repositoryCachePostProcessor() {
+        return new RepositoryCachePostProcessor();
+    }
+
+    @Configuration
+    @ConditionalOnClass(HealthIndicator.class)
+    @EnableConfigurationProperties(RepositoryCacheProperties.class)
+    static class ActuatorConfiguration {
+
+        @Bean
+        @ConditionalOnEnabledEndpoint
+        public RepositoryCacheEndpoint repositoryCacheEndpoint(RepositoryCachePostProcessor caches) {
+            return new RepositoryCacheEndpoint(caches);
+        }
+
+        @Bean
+        @ConditionalOnProperty(prefix = "roundabout.repository-cache.health", name = "enabled", havingValue = "true")
+        public RepositoryCacheHealthIndicator repositoryCacheHealthIndicator(RepositoryCachePostProcessor caches,
+                RepositoryCacheProperties properties) {
+            return new RepositoryCacheHealthIndicator(caches, properties.getMinimumHitRate(),
+                    properties.getMinimumRequests(), properties.getWindow(), properties.getWarmUp());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.treatwell.roundabout.utils.repository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Actuator endpoint exposing the statistics of every {@link RepositoryCache}, at
+ * {@code /actuator/repositorycache} once included in {@code management.endpoints.web.exposure.include}.
+ */
+@Endpoint(id = "repositorycache")
+public class RepositoryCacheEndpoint {
+
+    private final RepositoryCachePostProcessor caches;
+
+    public RepositoryCacheEndpoint(RepositoryCachePostProcessor caches) {
+        this.caches = caches;
+    }
+
+    @ReadOperation
+    public Map<String, Object> caches() {
+        Map<String, Object> result = new TreeMap<>();
+        caches.getCaches().forEach((name, cache) -> {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("size", cache.getSize());
+            stats.put("maximumSize", cache.getMaximumSize());
+            stats.put("hits", cache.getHits());
+            stats.put("misses", cache.getMisses());
+            stats.put("hitRate", cache.getHitRate());
+            stats.put("evictions", cache.getEvictions());
+            stats.put("invalidations", cache.getInvalidations());
+            result.put(name, stats);
+        });
+        return result;
+    }
+}
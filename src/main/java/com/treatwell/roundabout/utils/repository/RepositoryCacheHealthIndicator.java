@@ -0,0 +1,92 @@
+package com.treatwell.roundabout.utils.repository;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import com.treatwell.roundabout.utils.health.HealthStatuses;
+
+/**
+ * {@link HealthIndicator} that reports {@link HealthStatuses#DEGRADED} when any
+ * {@link RepositoryCache}'s hit rate over the last {@code window} falls below a minimum, meaning
+ * that the lookups it was meant to absorb are reaching the database again. A cold cache is
+ * expected after startup, so nothing is judged during the {@code warmUp} period, nor for windows
+ * seeing fewer lookups than the configured minimum, as those are too noisy.
+ *
+ * <p>This never reports DOWN: the application still works with a cold cache, just more slowly,
+ * and taking it out of service would only shift its load onto the remaining instances.</p>
+ */
+public class RepositoryCacheHealthIndicator extends AbstractHealthIndicator {
+    private final RepositoryCachePostProcessor caches;
+    private final double minimumHitRate;
+    private final long minimumRequests;
+    private final long windowNanos;
+    private final long warmUpEnd;
+
+    private final Map<String, Deque<Sample>> samples = new HashMap<>();
+
+    public RepositoryCacheHealthIndicator(RepositoryCachePostProcessor caches, double minimumHitRate,
+            long minimumRequests, Duration window, Duration warmUp) {
+        super("Repository cache health check failed");
+        this.caches = caches;
+        this.minimumHitRate = minimumHitRate;
+        this.minimumRequests = minimumRequests;
+        this.windowNanos = window.toNanos();
+        this.warmUpEnd = System.nanoTime() + warmUp.toNanos();
+    }
+
+    @Override
+    protected synchronized void doHealthCheck(Health.Builder builder) {
+        builder.up();
+        long now = System.nanoTime();
+        boolean warmingUp = now - warmUpEnd < 0;
+        caches.getCaches().forEach((name, cache) -> {
+            Deque<Sample> history = samples.computeIfAbsent(name, k -> new ArrayDeque<>());
+            Sample current = new Sample(now, cache.getHits(), cache.getMisses());
+            history.addLast(current);
+            dropBeforeWindow(history, now);
+            Sample baseline = history.getFirst();
+            long hits = current.hits - baseline.hits;
+            long requests = hits + current.misses - baseline.misses;
+            double hitRate = requests == 0 ? 0 : (double) hits / requests;
+            builder.withDetail(name, hitRate);
+            if (!warmingUp && requests >= minimumRequests && hitRate < minimumHitRate) {
+                builder.status(HealthStatuses.DEGRADED);
+            }
+        });
+    }
+
+    /**
+     * Drops the samples which are no longer needed, keeping the latest one from before the window
+     * as its baseline, so that the window is measured in full even when checks are infrequent.
+     */
+    private void dropBeforeWindow(Deque<Sample> history, long now) {
+        while (history.size() > 1) {
+            Iterator<Sample> iterator = history.iterator();
+            iterator.next();
+            if (now - iterator.next().time < windowNanos) {
+                return;
+            }
+            history.removeFirst();
+        }
+    }
+
+    private static final class Sample {
+        private final long time;
+        private final long hits;
+        private final long misses;
+
+        private Sample(long time, long hits, long misses) {
+            this.time = time;
+            this.hits = hits;
+            this.misses = misses;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.treatwell.roundabout.utils.repository;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.repository.core.EntityInformation;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Repository advice serving {@code findById} from a {@link RepositoryCache}, and invalidating
+ * it on {@code save*}/{@code delete*}. Single-entity writes invalidate just that id, whereas
+ * bulk writes invalidate the whole cache.
+ *
+ * <p>Within a read-write transaction the cache is bypassed altogether, so that callers keep
+ * getting managed entities and seeing their own uncommitted changes. It's also bypassed whenever
+ * an {@link javax.persistence.EntityManager} is bound to the current thread, e.g. by a read-only
+ * transaction or open-in-view, as the entity loaded would then still be managed by it: only
+ * entities loaded by the repository's own short-lived transaction, and so detached once it
+ * returns, are cached.</p>
+ *
+ * <p>Invalidations are repeated after the write returns, and again once the transaction
+ * completes, so that other threads can't re-cache the previous value in the meantime.</p>
+ */
+public class RepositoryCacheInterceptor implements MethodInterceptor {
+    private final RepositoryCache cache;
+    private final EntityInformation<Object, ?> entityInformation;
+
+    public RepositoryCacheInterceptor(RepositoryCache cache, EntityInformation<Object, ?> entityInformation) {
+        this.cache = cache;
+        this.entityInformation = entityInformation;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        String name = method.getName();
+        Object[] arguments = invocation.getArguments();
+        boolean single = arguments.length == 1;
+
+        if (single && "findById".equals(name) && Optional.class.equals(method.getReturnType())) {
+            return findById(invocation, arguments[0]);
+        }
+        if (name.startsWith("save")) {
+            Object result = invocation.proceed();
+            if (single && "save".equals(name)) {
+                invalidate(getId(result));
+            } else {
+                invalidateAll();
+            }
+            return result;
+        }
+        if (name.startsWith("delete")) {
+            Object id = null;
+            if (single && "deleteById".equals(name)) {
+                id = arguments[0];
+            } else if (single && "delete".equals(name)) {
+                id = getId(arguments[0]);
+            }
+            // Also before, so that the entity isn't served from the cache while it's being deleted
+            evict(id);
+            Object result = invocation.proceed();
+            invalidate(id);
+            return result;
+        }
+        return invocation.proceed();
+    }
+
+    private Object findById(MethodInvocation invocation, Object id) throws Throwable {
+        if (isReadWriteTransaction() || isEntityManagerBound()) {
+            return invocation.proceed();
+        }
+        Optional<?> cached = cache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = cache.getGeneration();
+        Optional<?> loaded = (Optional<?>) invocation.proceed();
+        cache.put(id, loaded, generation);
+        return loaded;
+    }
+
+    private Object getId(Object entity) {
+        return entity != null && entityInformation.getJavaType().isInstance(entity)
+                ? entityInformation.getId(entity)
+                : null;
+    }
+
+    private void invalidate(Object id) {
+        evict(id);
+        afterCompletion(() -> evict(id));
+    }
+
+    private void invalidateAll() {
+        invalidate(null);
+    }
+
+    /**
+     * Evicts the given id, or everything if it's {@code null}.
+     */
+    private void evict(Object id) {
+        if (id == null) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidate(id);
+        }
+    }
+
+    private static boolean isReadWriteTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private static boolean isEntityManagerBound() {
+        return TransactionSynchronizationManager.getResourceMap().values().stream()
+                .anyMatch(EntityManagerHolder.class::isInstance);
+    }
+
+    private static void afterCompletion(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        }
+    }
+}
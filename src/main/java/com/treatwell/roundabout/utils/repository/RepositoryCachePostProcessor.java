@@ -0,0 +1,75 @@
+package com.treatwell.roundabout.utils.repository;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.core.EntityInformation;
+import org.springframework.data.repository.core.support.RepositoryFactoryInformation;
+
+/**
+ * Adds a {@link RepositoryCacheInterceptor} to every repository whose interface is annotated
+ * with {@link CachedRepository}. The advice goes first in the repository proxy's chain, so that
+ * cache hits don't even start a transaction.
+ *
+ * <p>The caches are kept by repository bean name, for the {@link RepositoryCacheEndpoint} and
+ * {@link RepositoryCacheHealthIndicator}.</p>
+ */
+public class RepositoryCachePostProcessor implements BeanPostProcessor, BeanFactoryAware {
+    private final Map<String, RepositoryCache> caches = Collections.synchronizedMap(new TreeMap<>());
+
+    private BeanFactory beanFactory;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (!(bean instanceof Repository) || !(bean instanceof Advised)) {
+            return bean;
+        }
+        Advised advised = (Advised) bean;
+        for (Class<?> repositoryInterface : advised.getProxiedInterfaces()) {
+            CachedRepository annotation = AnnotationUtils.findAnnotation(repositoryInterface, CachedRepository.class);
+            if (annotation != null) {
+                RepositoryCache cache = new RepositoryCache(beanName, annotation.maximumSize(),
+                        Duration.parse(annotation.timeToLive()), annotation.cacheMissing(),
+                        Duration.parse(annotation.missingTimeToLive()));
+                advised.addAdvice(0, new RepositoryCacheInterceptor(cache, getEntityInformation(beanName)));
+                caches.put(beanName, cache);
+                break;
+            }
+        }
+        return bean;
+    }
+
+    @SuppressWarnings("unchecked")
+    private EntityInformation<Object, ?> getEntityInformation(String beanName) {
+        // The repository is produced by its factory bean, which knows how to read the entities' ids
+        Object factory = beanFactory.getBean(BeanFactory.FACTORY_BEAN_PREFIX + beanName);
+        if (!(factory instanceof RepositoryFactoryInformation)) {
+            throw new IllegalStateException("@CachedRepository " + beanName
+                    + " must be created by a Spring Data repository factory bean");
+        }
+        return ((RepositoryFactoryInformation<Object, ?>) factory).getEntityInformation();
+    }
+
+    /**
+     * @return the caches, by repository bean name.
+     */
+    public Map<String, RepositoryCache> getCaches() {
+        synchronized (caches) {
+            return new TreeMap<>(caches);
+        }
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        this.beanFactory = beanFactory;
+    }
+}
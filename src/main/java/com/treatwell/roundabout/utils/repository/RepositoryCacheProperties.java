@@ -0,0 +1,79 @@
+package com.treatwell.roundabout.utils.repository;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for the {@link RepositoryCacheHealthIndicator}, bound from the
+ * {@code roundabout.repository-cache.health} prefix. The caches themselves are configured on
+ * each repository's {@link CachedRepository} annotation.
+ */
+@ConfigurationProperties("roundabout.repository-cache.health")
+public class RepositoryCacheProperties {
+
+    /**
+     * Whether a collapse of a repository cache's hit rate is reported as DEGRADED.
+     */
+    private boolean enabled = false;
+
+    /**
+     * The hit rate over the window below which a cache is reported as DEGRADED.
+     */
+    private double minimumHitRate = 0.5;
+
+    /**
+     * The number of lookups over the window below which the hit rate is ignored.
+     */
+    private long minimumRequests = 100;
+
+    /**
+     * The period over which the hit rate is measured.
+     */
+    private Duration window = Duration.ofMinutes(5);
+
+    /**
+     * How long after startup the hit rate is ignored, while the caches fill up.
+     */
+    private Duration warmUp = Duration.ofMinutes(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getMinimumHitRate() {
+        return minimumHitRate;
+    }
+
+    public void setMinimumHitRate(double minimumHitRate) {
+        this.minimumHitRate = minimumHitRate;
+    }
+
+    public long getMinimumRequests() {
+        return minimumRequests;
+    }
+
+    public void setMinimumRequests(long minimumRequests) {
+        this.minimumRequests = minimumRequests;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    public Duration getWarmUp() {
+        return warmUp;
+    }
+
+    public void setWarmUp(Duration warmUp) {
+        this.warmUp = warmUp;
+    }
+}
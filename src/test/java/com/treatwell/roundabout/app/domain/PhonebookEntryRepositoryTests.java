@@ -0,0 +1,90 @@
+package com.treatwell.roundabout.app.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.hibernate.Session;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.junit4.SpringRunner;
+
+/**
+ * Exercises the {@link com.treatwell.roundabout.utils.repository.BulkOperationsRepository}
+ * operations against H2, with enough rows to span many batches and pages.
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest
+public class PhonebookEntryRepositoryTests {
+    private static final int ENTRIES = 5_000;
+
+    @Autowired
+    private PhonebookEntryRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Before
+    public void saveEntries() {
+        Iterable<PhonebookEntry> entries = IntStream.range(0, ENTRIES)
+                .mapToObj(i -> new PhonebookEntry(null, "entry-" + i))::iterator;
+        assertThat(repository.saveInBatches(entries)).isEqualTo(ENTRIES);
+        assertThat(managedEntities()).isZero();
+    }
+
+    @Test
+    public void saveInBatchesLeavesOtherEntitiesManaged() {
+        PhonebookEntry loaded = repository.findAllAfter(null, 1).get(0);
+        repository.saveInBatches(() -> IntStream.range(0, 500)
+                .mapToObj(i -> new PhonebookEntry(null, "more-" + i)).iterator());
+        assertThat(entityManager.getEntityManager().contains(loaded)).isTrue();
+    }
+
+    @Test
+    public void saveInBatchesLeavesGivenManagedEntitiesManaged() {
+        PhonebookEntry loaded = repository.findAllAfter(null, 1).get(0);
+        loaded.setPhoneNumber("+44 20 7946 0000");
+        assertThat(repository.saveInBatches(Collections.singletonList(loaded))).isEqualTo(1);
+        assertThat(entityManager.getEntityManager().contains(loaded)).isTrue();
+    }
+
+    @Test
+    public void streamAllKeepsPersistenceContextBounded() {
+        List<String> names = new ArrayList<>();
+        int maxManaged = 0;
+        try (Stream<PhonebookEntry> entries = repository.streamAll()) {
+            for (PhonebookEntry entry : (Iterable<PhonebookEntry>) entries::iterator) {
+                names.add(entry.getName());
+                maxManaged = Math.max(maxManaged, managedEntities());
+            }
+        }
+        assertThat(names).hasSize(ENTRIES).doesNotHaveDuplicates();
+        assertThat(maxManaged).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    public void findAllAfterReturnsEveryEntryOnce() {
+        List<Long> ids = new ArrayList<>();
+        Long lastId = null;
+        List<PhonebookEntry> page;
+        // Not a divisor of ENTRIES, so that the last page is a partial one
+        while (!(page = repository.findAllAfter(lastId, 300)).isEmpty()) {
+            page.forEach(entry -> ids.add(entry.getId()));
+            lastId = page.get(page.size() - 1).getId();
+            entityManager.clear();
+        }
+        assertThat(ids).hasSize(ENTRIES).doesNotHaveDuplicates().isSorted();
+    }
+
+    private int managedEntities() {
+        return entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount();
+    }
+}
@@ -0,0 +1,130 @@
+package com.treatwell.roundabout.utils.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.test.rule.OutputCapture;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import com.treatwell.roundabout.utils.config.fixtures.IdentityQueryRepository;
+import com.treatwell.roundabout.utils.config.fixtures.IdentityRepository;
+import com.treatwell.roundabout.utils.config.fixtures.PagingSequenceRepository;
+import com.treatwell.roundabout.utils.config.fixtures.PooledSequenceEntity;
+import com.treatwell.roundabout.utils.config.fixtures.UnpooledSequenceRepository;
+import com.treatwell.roundabout.utils.config.fixtures.UntransactionalRepository;
+import com.treatwell.roundabout.utils.repository.BulkOperationsJpaRepository;
+
+/**
+ * Starts an application against an in-memory H2 database, with the real repositories in the
+ * {@code fixtures} package, and checks that each rule reports exactly the expected repositories
+ * at each {@link RepositoryRuleSeverity}. Every other rule is turned off.
+ */
+@RunWith(Parameterized.class)
+public class RepositoryRuleTests {
+    private static final List<String> RULES = Arrays.asList("transactional", "unpaged-find-all", "query-fetch-size",
+            "read-only", "batchable-id-generation");
+
+    @Rule
+    public OutputCapture output = new OutputCapture();
+
+    private final String rule;
+    private final Set<String> violating;
+
+    public RepositoryRuleTests(String rule, List<Class<?>> violating) {
+        this.rule = rule;
+        this.violating = violating.stream().map(Class::getSimpleName).collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    @Parameters(name = "{0}")
+    public static List<Object[]> rules() {
+        return Arrays.asList(
+                rule("transactional", UntransactionalRepository.class),
+                rule("unpaged-find-all", IdentityRepository.class, UnpooledSequenceRepository.class,
+                        PagingSequenceRepository.class),
+                rule("query-fetch-size", IdentityRepository.class),
+                rule("read-only", IdentityQueryRepository.class),
+                rule("batchable-id-generation", IdentityQueryRepository.class, IdentityRepository.class,
+                        UnpooledSequenceRepository.class));
+    }
+
+    private static Object[] rule(String name, Class<?>... violating) {
+        return new Object[] { name, Arrays.asList(violating) };
+    }
+
+    @Test
+    public void offIgnoresViolations() {
+        runner(RepositoryRuleSeverity.OFF).run(context -> {
+            assertThat(context).hasNotFailed();
+            assertThat(reported(output.toString())).isEmpty();
+        });
+    }
+
+    @Test
+    public void warnLogsViolations() {
+        runner(RepositoryRuleSeverity.WARN).run(context -> {
+            assertThat(context).hasNotFailed();
+            assertThat(reported(output.toString())).isEqualTo(violating);
+        });
+    }
+
+    @Test
+    public void failFailsStartup() {
+        runner(RepositoryRuleSeverity.FAIL).run(context -> {
+            assertThat(context).hasFailed();
+            assertThat(context.getStartupFailure()).isInstanceOf(IllegalStateException.class);
+            assertThat(reported(context.getStartupFailure().getMessage())).isEqualTo(violating);
+        });
+    }
+
+    private ApplicationContextRunner runner(RepositoryRuleSeverity severity) {
+        String[] severities = RULES.stream()
+                .map(name -> RepositoryValidator.SEVERITY_PREFIX + name + "="
+                        + (name.equals(rule) ? severity : RepositoryRuleSeverity.OFF).name())
+                .toArray(String[]::new);
+        return new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class,
+                        HibernateJpaAutoConfiguration.class, RepositoryValidatorAutoConfiguration.class))
+                .withUserConfiguration(FixturesConfiguration.class)
+                .withPropertyValues(severities);
+    }
+
+    /**
+     * @return the repositories reported as violating this rule, whether in log output or in a
+     * startup failure, both of which list violations as {@code Repository: message [rule]}.
+     */
+    private Set<String> reported(String text) {
+        Pattern violation = Pattern.compile("(\\w+Repository): .*\\[" + Pattern.quote(rule) + "\\]$",
+                Pattern.MULTILINE);
+        Set<String> repositories = new TreeSet<>();
+        Matcher matcher = violation.matcher(text);
+        while (matcher.find()) {
+            repositories.add(matcher.group(1));
+        }
+        return repositories;
+    }
+
+    @Configuration
+    @EntityScan(basePackageClasses = PooledSequenceEntity.class)
+    @EnableJpaRepositories(basePackageClasses = PooledSequenceEntity.class,
+            repositoryBaseClass = BulkOperationsJpaRepository.class)
+    static class FixturesConfiguration {
+    }
+}
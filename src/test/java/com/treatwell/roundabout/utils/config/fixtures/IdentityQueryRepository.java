@@ -0,0 +1,19 @@
+package com.treatwell.roundabout.utils.config.fixtures;
+
+import java.util.List;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Violates {@code read-only} and {@code batchable-id-generation}.
+ */
+@Transactional("transactionManager")
+public interface IdentityQueryRepository extends Repository<IdentityEntity, Long> {
+
+    @QueryHints(@QueryHint(name = "javax.persistence.fetchSize", value = "100"))
+    List<IdentityEntity> findByName(String name);
+}
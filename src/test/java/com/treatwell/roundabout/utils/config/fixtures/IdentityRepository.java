@@ -0,0 +1,13 @@
+package com.treatwell.roundabout.utils.config.fixtures;
+
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Violates {@code unpaged-find-all}, {@code batchable-id-generation} and, through the query
+ * method it inherits, {@code query-fetch-size}.
+ */
+@Transactional("transactionManager")
+public interface IdentityRepository extends NamedEntityRepository<IdentityEntity>,
+        CrudRepository<IdentityEntity, Long> {
+}
@@ -0,0 +1,15 @@
+package com.treatwell.roundabout.utils.config.fixtures;
+
+import java.util.List;
+
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.Repository;
+
+/**
+ * Application base interface, whose query methods are inherited by the repositories extending it.
+ */
+@NoRepositoryBean
+public interface NamedEntityRepository<T> extends Repository<T, Long> {
+
+    List<T> findByName(String name);
+}
@@ -0,0 +1,12 @@
+package com.treatwell.roundabout.utils.config.fixtures;
+
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Violates {@code unpaged-find-all}, as the unpaged {@code findAll()} is still inherited
+ * alongside the paged one.
+ */
+@Transactional("transactionManager")
+public interface PagingSequenceRepository extends PagingAndSortingRepository<PooledSequenceEntity, Long> {
+}
@@ -0,0 +1,17 @@
+package com.treatwell.roundabout.utils.config.fixtures;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+
+@Entity
+@SequenceGenerator(name = "pooled_seq", sequenceName = "pooled_seq", allocationSize = 50)
+public class PooledSequenceEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pooled_seq")
+    private Long id;
+    private String name;
+}
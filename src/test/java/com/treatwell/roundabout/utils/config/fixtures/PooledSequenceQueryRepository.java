@@ -0,0 +1,15 @@
+package com.treatwell.roundabout.utils.config.fixtures;
+
+import java.util.Optional;
+
+import org.springframework.data.repository.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Satisfies every rule.
+ */
+@Transactional(value = "transactionManager", readOnly = true)
+public interface PooledSequenceQueryRepository extends Repository<PooledSequenceEntity, Long> {
+
+    Optional<PooledSequenceEntity> findById(Long id);
+}
@@ -0,0 +1,24 @@
+package com.treatwell.roundabout.utils.config.fixtures;
+
+import java.util.List;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.treatwell.roundabout.utils.repository.BulkOperationsRepository;
+
+/**
+ * Satisfies every rule.
+ */
+@Transactional("transactionManager")
+public interface PooledSequenceRepository extends BulkOperationsRepository<PooledSequenceEntity, Long> {
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "100"))
+    List<PooledSequenceEntity> findByName(String name);
+
+    Page<PooledSequenceEntity> findByNameStartingWith(String prefix, Pageable pageable);
+}
@@ -0,0 +1,14 @@
+package com.treatwell.roundabout.utils.config.fixtures;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.treatwell.roundabout.utils.config.SuppressRepositoryRules;
+
+/**
+ * Satisfies every rule, having opted out of {@code unpaged-find-all}.
+ */
+@SuppressRepositoryRules("unpaged-find-all")
+@Transactional("transactionManager")
+public interface SmallTableRepository extends JpaRepository<PooledSequenceEntity, Long> {
+}
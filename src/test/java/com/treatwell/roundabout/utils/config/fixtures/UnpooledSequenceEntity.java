@@ -0,0 +1,20 @@
+package com.treatwell.roundabout.utils.config.fixtures;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+
+/**
+ * Declares its generator on the class rather than the id, which must be found all the same.
+ */
+@Entity
+@SequenceGenerator(name = "unpooled_seq", sequenceName = "unpooled_seq", allocationSize = 1)
+public class UnpooledSequenceEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "unpooled_seq")
+    private Long id;
+    private String name;
+}
@@ -0,0 +1,11 @@
+package com.treatwell.roundabout.utils.config.fixtures;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Violates {@code unpaged-find-all} and {@code batchable-id-generation}.
+ */
+@Transactional("transactionManager")
+public interface UnpooledSequenceRepository extends JpaRepository<UnpooledSequenceEntity, Long> {
+}
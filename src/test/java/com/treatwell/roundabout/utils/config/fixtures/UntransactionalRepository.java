@@ -0,0 +1,15 @@
+package com.treatwell.roundabout.utils.config.fixtures;
+
+import java.util.Optional;
+
+import org.springframework.data.repository.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Violates {@code transactional}, by not naming its transaction manager.
+ */
+@Transactional(readOnly = true)
+public interface UntransactionalRepository extends Repository<PooledSequenceEntity, Long> {
+
+    Optional<PooledSequenceEntity> findById(Long id);
+}